@@ -1,20 +1,44 @@
 package seedu.duke;
 
+import seedu.duke.book.BookId;
 import seedu.duke.commands.Command;
 import seedu.duke.exception.LeBookException;
+import seedu.duke.genre.GenreRegistry;
 import seedu.duke.library.Library;
 import seedu.duke.ui.Ui;
 import seedu.duke.parser.Parser;
+import seedu.duke.shelving.ShelvesManager;
+import seedu.duke.shelving.shelves.Shelf;
+import seedu.duke.shelving.shelves.Shelves;
+import seedu.duke.storage.DatabaseStorage;
 import seedu.duke.storage.Storage;
+import seedu.duke.storage.StorageBackend;
 import seedu.duke.member.MemberManager;
 
+import java.sql.SQLException;
+
 /**
  * Lebook Class represents the main chatbot system
  * Initializes storage, UI, task handling, and command parsing
  */
 
 public class LeBook {
-    private final Storage storage;
+    private static final String MAX_SAVE_STALENESS_PROPERTY = "lebook.maxSaveStalenessMillis";
+    private static final long DEFAULT_MAX_SAVE_STALENESS_MILLIS = 1000;
+    private static final String STORAGE_BACKEND_PROPERTY = "lebook.storage";
+    private static final String DATABASE_BACKEND = "database";
+    private static final String DATABASE_URL_PROPERTY = "lebook.databaseUrl";
+    private static final String DEFAULT_DATABASE_URL = "jdbc:h2:file:./data/LeBook";
+    private static final String TOLERANT_LOAD_PROPERTY = "lebook.tolerantLoad";
+    private static final String SHELVES_PER_GENRE_PROPERTY = "lebook.shelvesPerGenre";
+    private static final String SLOTS_PER_SHELF_PROPERTY = "lebook.slotsPerShelf";
+    private static final String MAX_SHELVES_PER_GENRE_PROPERTY = "lebook.maxShelvesPerGenre";
+    private static final int DEFAULT_MAX_SHELVES_PER_GENRE = 1000;
+    private static final String EXTRA_GENRES_PROPERTY = "lebook.extraGenres";
+    private static final String GENRE_SEPARATOR = ",";
+    private static final String GENRE_PREFIX_SEPARATOR = ":";
+
+    private final StorageBackend storage;
     private final Ui ui;
     private final MemberManager memberManager;
     private final Library library;
@@ -22,7 +46,9 @@ public class LeBook {
     public LeBook(String filePath) {
         assert filePath != null && !filePath.trim().isEmpty() : "File path cannot be null or empty";
         ui = Ui.getUiInstance();
-        storage = Storage.getInstance(filePath);
+        registerExtraGenres();
+        configureShelves();
+        storage = createStorage(filePath);
         memberManager = MemberManager.getInstance();
         library = Library.getTheOneLibrary(storage.loadFileContents(memberManager));
 
@@ -33,6 +59,74 @@ public class LeBook {
         assert library != null : "BookManager instance should not be null";
     }
 
+    /**
+     * Adds the genres listed in the {@value #EXTRA_GENRES_PROPERTY} system property, such as
+     * {@code fantasy:F,poetry:PO}, after the built-in ones. Entries that cannot be added are reported and skipped.
+     */
+    private void registerExtraGenres() {
+        String extraGenres = System.getProperty(EXTRA_GENRES_PROPERTY, "");
+        for (String entry : extraGenres.split(GENRE_SEPARATOR)) {
+            if (entry.isBlank()) {
+                continue;
+            }
+            String[] parts = entry.split(GENRE_PREFIX_SEPARATOR, 2);
+            try {
+                GenreRegistry.getInstance().register(parts[0], parts.length < 2 ? null : parts[1]);
+            } catch (IllegalArgumentException e) {
+                ui.printError("Skipping genre '" + entry.trim() + "': " + e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * Sizes the shelves from the {@value #SHELVES_PER_GENRE_PROPERTY}, {@value #SLOTS_PER_SHELF_PROPERTY} and
+     * {@value #MAX_SHELVES_PER_GENRE_PROPERTY} system properties before any book is shelved. A genre adds a
+     * shelf whenever its shelves are full, until it reaches the maximum.
+     */
+    private void configureShelves() {
+        int shelvesPerGenre = Integer.getInteger(SHELVES_PER_GENRE_PROPERTY, Shelves.MAX_SHELVES_PER_GENRE);
+        int slotsPerShelf = Integer.getInteger(SLOTS_PER_SHELF_PROPERTY, Shelf.MAX_BOOKS_ON_SHELF);
+        int maxShelvesPerGenre = Integer.getInteger(MAX_SHELVES_PER_GENRE_PROPERTY, DEFAULT_MAX_SHELVES_PER_GENRE);
+        if (shelvesPerGenre < 1 || slotsPerShelf < 1 || maxShelvesPerGenre < shelvesPerGenre
+                || maxShelvesPerGenre > BookId.MAX_SHELF + 1 || slotsPerShelf > BookId.MAX_SLOT + 1) {
+            ui.printError("Invalid shelf sizes, using the default shelf sizes instead.");
+            shelvesPerGenre = Shelves.MAX_SHELVES_PER_GENRE;
+            slotsPerShelf = Shelf.MAX_BOOKS_ON_SHELF;
+            maxShelvesPerGenre = DEFAULT_MAX_SHELVES_PER_GENRE;
+        }
+        ShelvesManager.configure(shelvesPerGenre, slotsPerShelf, maxShelvesPerGenre);
+        ShelvesManager.resetShelvesManager();
+    }
+
+    /**
+     * Creates the storage backend chosen by the {@value #STORAGE_BACKEND_PROPERTY} system property.
+     * The text file is used unless the database backend is chosen and its database can be opened.
+     * A damaged text file is replaced by its last good copy, unless the {@value #TOLERANT_LOAD_PROPERTY}
+     * system property is {@code true}, in which case only its unreadable lines are set aside.
+     *
+     * @param filePath The path to the text storage file.
+     * @return The storage backend to use.
+     */
+    private StorageBackend createStorage(String filePath) {
+        if (DATABASE_BACKEND.equals(System.getProperty(STORAGE_BACKEND_PROPERTY))) {
+            try {
+                return DatabaseStorage.open(System.getProperty(DATABASE_URL_PROPERTY, DEFAULT_DATABASE_URL));
+            } catch (SQLException e) {
+                ui.printError("Could not open the database, using the text file instead: " + e.getMessage());
+            }
+        }
+
+        Storage textStorage = Storage.getInstance(filePath);
+        textStorage.enableJournal();
+        if (Boolean.getBoolean(TOLERANT_LOAD_PROPERTY)) {
+            textStorage.enableTolerantLoad();
+        }
+        textStorage.enableParallelLoad();
+        textStorage.startBackgroundWriter(
+                Long.getLong(MAX_SAVE_STALENESS_PROPERTY, DEFAULT_MAX_SAVE_STALENESS_MILLIS));
+        return textStorage;
+    }
+
     public void run() {
         ui.printWelcomeMessage();
         boolean isExit = false;
@@ -45,10 +139,13 @@ public class LeBook {
                 Command command = Parser.parse(userInput);
                 assert command != null : "Parser should return a valid Command object";
 
-                boolean success = command.execute(library, ui, storage, memberManager);
+                // Commands modify books while holding the storage lock so background saves see whole changes
+                synchronized (storage.getStateLock()) {
+                    boolean success = command.execute(library, ui, storage, memberManager);
 
-                if (success && command.isUndoable()) {
-                    library.getUndoManager().pushCommand(command);
+                    if (success && command.isUndoable()) {
+                        library.getUndoManager().pushCommand(command);
+                    }
                 }
 
                 isExit = command.isExit();
@@ -1,27 +1,15 @@
 // src/main/java/seedu/duke/book/Book.java
 package seedu.duke.book;
 
+import seedu.duke.genre.Genre;
+import seedu.duke.genre.GenreRegistry;
+import seedu.duke.member.Member;
+
 import java.time.LocalDate;
 import java.time.format.DateTimeFormatter;
 
 public class Book {
     // --- Genre constants ---
-    private static final String ROMANCE = "romance";
-    private static final String ADVENTURE = "adventure";
-    private static final String ACTION = "action";
-    private static final String HORROR = "horror";
-    private static final String MYSTERY = "mystery";
-    private static final String NONFICTION = "nonfiction";
-    private static final String SCIFI = "scifi";
-
-    // --- Genre ID constants ---
-    private static final String ROMANCE_ID = "R";
-    private static final String ADVENTURE_ID = "AD";
-    private static final String ACTION_ID = "AC";
-    private static final String HORROR_ID = "H";
-    private static final String MYSTERY_ID = "MY";
-    private static final String NONFICTION_ID = "NF";
-    private static final String SCIFI_ID = "SCIF";
     private static final String UNKNOWN_GENRE = "Unknown"; // Fallback
     private static final String REGEX = " | ";
 
@@ -42,8 +30,10 @@ public class Book {
      * @param borrowerName  Name of the borrower if borrowed, null otherwise.
      */
     // Line 52 broken down
-    private String bookID; //IDENTIFIER-ShelfNum-Index
+    private String bookID; //IDENTIFIER-ShelfNum-Index, formatted from id when only the packed ID is set
+    private long id; // The packed form of bookID, or BookId.NONE if it is not a valid ID
     private String borrowerName;
+    private Member borrower; // The member whose borrowed books include this one, if any
 
     public Book(String title, String author, boolean isBorrowed, LocalDate returnDueDate, String bookID,
                 String borrowerName) {
@@ -55,6 +45,7 @@ public class Book {
         this.isBorrowed = isBorrowed;
         this.returnDueDate = returnDueDate;
         this.bookID = bookID;
+        this.id = BookId.parse(bookID);
         this.borrowerName = borrowerName;
     }
 
@@ -85,6 +76,20 @@ public class Book {
         this.borrowerName = borrowerName;
     }
 
+    /**
+     * Returns the member currently holding this book, kept up to date by {@link Member#borrowBook(Book)}
+     * and {@link Member#returnBook(Book)}.
+     *
+     * @return The borrowing member, or {@code null} if no member holds this book.
+     */
+    public Member getBorrower() {
+        return borrower;
+    }
+
+    public void setBorrower(Member borrower) {
+        this.borrower = borrower;
+    }
+
 
     //@@author Xavierleejrui
     /**
@@ -94,34 +99,9 @@ public class Book {
      * @return The full genre name (e.g., "adventure", "romance") or "Unknown" if parsing fails or ID is NIL.
      */
     public String getGenre() {
-        if (bookID == null || bookID.equals("NIL") || !bookID.contains("-")) {
-            return UNKNOWN_GENRE; // Cannot determine genre
-        }
-        try {
-            String genreId = bookID.split("-")[0];
-            // Corrected Indentation for switch block
-            switch (genreId.toUpperCase()) { // Use uppercase for reliable matching
-            case ROMANCE_ID:
-                return ROMANCE;
-            case ADVENTURE_ID:
-                return ADVENTURE;
-            case ACTION_ID:
-                return ACTION;
-            case HORROR_ID:
-                return HORROR;
-            case MYSTERY_ID:
-                return MYSTERY;
-            case NONFICTION_ID:
-                return NONFICTION;
-            case SCIFI_ID:
-                return SCIFI;
-            default:
-                return UNKNOWN_GENRE;
-            }
-        } catch (ArrayIndexOutOfBoundsException e) {
-            // Handle cases where split doesn't produce enough parts
-            return UNKNOWN_GENRE;
-        }
+        // Only an ID that could not be packed, such as one with a bad shelf number, is read as text
+        Genre genre = id != BookId.NONE ? BookId.getGenre(id) : GenreRegistry.getInstance().getByBookID(bookID);
+        return genre == null ? UNKNOWN_GENRE : genre.getName(); // Cannot determine genre
     }
 
     /**
@@ -145,7 +125,7 @@ public class Book {
         DateTimeFormatter formatter = DateTimeFormatter.ofPattern("MMM dd yyyy");
         String status = isBorrowed ? "[X]" : "[ ]";
         String dueDateStr = (returnDueDate != null) ? " | Due: " + returnDueDate.format(formatter) : "";
-        return status + " " + title + " (by " + author + ") " + "(ID: " + bookID + ")" + dueDateStr;
+        return status + " " + title + " (by " + author + ") " + "(ID: " + getBookID() + ")" + dueDateStr;
     }
 
     /**
@@ -156,7 +136,7 @@ public class Book {
      */
     public String toFileFormat() {
         return title + REGEX + author + REGEX + (isBorrowed ? 1 : 0)
-                + REGEX + returnDueDate + REGEX + bookID
+                + REGEX + returnDueDate + REGEX + getBookID()
                 + REGEX + borrowerName;
     }
 
@@ -195,11 +175,34 @@ public class Book {
     }
 
     public String getBookID() {
+        if (bookID == null && id != BookId.NONE) {
+            bookID = BookId.toString(id);
+        }
         return bookID;
     }
 
+    /**
+     * Returns the packed form of the book ID, which is what the shelves work with.
+     *
+     * @return The packed ID, or {@link BookId#NONE} if the book has no valid ID.
+     */
+    public long getId() {
+        return id;
+    }
+
     // --- Standard Setters ---
     public void setBookID(String bookID) {
         this.bookID = bookID;
+        this.id = BookId.parse(bookID);
+    }
+
+    /**
+     * Sets the book ID from its packed form. The text form is only built if it is asked for.
+     *
+     * @param id The packed ID.
+     */
+    public void setBookID(long id) {
+        this.bookID = null;
+        this.id = id;
     }
 }
@@ -1,6 +1,9 @@
 package seedu.duke.book;
 
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 import java.util.stream.Collectors;
 
 /**
@@ -10,6 +13,10 @@ import java.util.stream.Collectors;
 public class BookFinder {
 
     private final List<Book> booksToSearch; // Reference to the list managed by BookManager
+    private final Map<String, Book> booksByID; // Index by upper-cased ID, or null to scan the list
+    private final Map<String, Set<Book>> booksByGenre; // Books keyed by lower-cased genre, or null to scan the list
+    private final TrigramIndex titleIndex; // Trigram index of titles, or null to scan the list
+    private final TrigramIndex authorIndex; // Trigram index of authors, or null to scan the list
 
     /**
      * Creates a BookFinder that operates on the given list of books.
@@ -18,17 +25,41 @@ public class BookFinder {
      *                      the list maintained by the BookManager.
      */
     public BookFinder(List<Book> booksToSearch) {
+        this(booksToSearch, null, null, null, null);
+    }
+
+    /**
+     * Creates a BookFinder that operates on the given list of books and searches through the given
+     * indexes instead of scanning the list.
+     *
+     * @param booksToSearch The list of books to perform searches on.
+     * @param booksByID     The books in the list, keyed by upper-cased book ID.
+     * @param booksByGenre  The books in the list, partitioned by lower-cased genre.
+     * @param titleIndex    The trigram index of the titles of the books in the list.
+     * @param authorIndex   The trigram index of the authors of the books in the list.
+     */
+    BookFinder(List<Book> booksToSearch, Map<String, Book> booksByID, Map<String, Set<Book>> booksByGenre,
+               TrigramIndex titleIndex, TrigramIndex authorIndex) {
         // We are passing the reference. The finder operates on the *live* list from BookManager.
         this.booksToSearch = booksToSearch;
+        this.booksByID = booksByID;
+        this.booksByGenre = booksByGenre;
+        this.titleIndex = titleIndex;
+        this.authorIndex = authorIndex;
     }
 
     /**
      * Finds books where the title contains the given query (case-insensitive).
+     * With a trigram index, only the titles sharing every trigram of the query are checked.
      *
      * @param titleQuery The title (or part of it) to search for.
      * @return A list of matching books.
      */
     public List<Book> findBooksByTitle(String titleQuery) {
+        List<Book> matches = titleIndex == null ? null : titleIndex.find(titleQuery);
+        if (matches != null) {
+            return matches;
+        }
         String lowerCaseQuery = titleQuery.toLowerCase();
         return booksToSearch.stream()
                 .filter(book -> book.getTitle().toLowerCase().contains(lowerCaseQuery))
@@ -37,11 +68,16 @@ public class BookFinder {
 
     /**
      * Finds books where the author contains the given query (case-insensitive).
+     * With a trigram index, only the authors sharing every trigram of the query are checked.
      *
      * @param authorQuery The author (or part of it) to search for.
      * @return A list of matching books.
      */
     public List<Book> findBooksByAuthor(String authorQuery) {
+        List<Book> matches = authorIndex == null ? null : authorIndex.find(authorQuery);
+        if (matches != null) {
+            return matches;
+        }
         String lowerCaseQuery = authorQuery.toLowerCase();
         return booksToSearch.stream()
                 .filter(book -> book.getAuthor().toLowerCase().contains(lowerCaseQuery))
@@ -50,13 +86,18 @@ public class BookFinder {
 
     /**
      * Finds books matching the given genre (case-insensitive, exact match).
-     * Uses the Book's getGenre() method.
+     * With the genre partitions, only the books of that genre are read; otherwise every book's
+     * getGenre() is compared.
      *
      * @param genreQuery The genre to search for (e.g., "adventure").
      *                   Assumes the genre has been pre-validated.
      * @return A list of matching books.
      */
     public List<Book> findBooksByGenre(String genreQuery) {
+        if (booksByGenre != null) {
+            Set<Book> partition = booksByGenre.get(BookManager.toGenreKey(genreQuery));
+            return partition == null ? new ArrayList<>() : new ArrayList<>(partition);
+        }
         return booksToSearch.stream()
                 .filter(book -> book.getGenre().equalsIgnoreCase(genreQuery))
                 .collect(Collectors.toList());
@@ -69,6 +110,10 @@ public class BookFinder {
      * @return A list of matching books.
      */
     public List<Book> findBooksByShelfId(String shelfIdQuery) {
+        if (booksByID != null) {
+            Book book = booksByID.get(BookManager.toIndexKey(shelfIdQuery));
+            return book == null ? new ArrayList<>() : new ArrayList<>(List.of(book));
+        }
         return booksToSearch.stream()
                 .filter(book -> book.getBookID() != null && book.getBookID().equalsIgnoreCase(shelfIdQuery))
                 .collect(Collectors.toList());
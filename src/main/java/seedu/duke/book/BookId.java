@@ -0,0 +1,146 @@
+package seedu.duke.book;
+
+import seedu.duke.genre.Genre;
+import seedu.duke.genre.GenreRegistry;
+
+/**
+ * Book IDs packed into a {@code long}: the genre's index in the {@link GenreRegistry}, the shelf number and
+ * the slot number. Packed IDs are compared and taken apart without parsing or allocating, and are only
+ * turned into their {@code GENRE-shelf-slot} text where it is shown or saved.
+ * <p>
+ * {@link #NONE} stands for a missing or unreadable ID, such as "NIL" or an ID whose prefix is not a genre.
+ */
+public final class BookId {
+    public static final long NONE = -1L;
+    public static final int MAX_SHELF = (1 << 24) - 1;
+    public static final int MAX_SLOT = (1 << 24) - 1;
+
+    private static final int SLOT_BITS = 24;
+    private static final int SHELF_BITS = 24;
+    private static final int MAX_GENRE_INDEX = (1 << 15) - 1; // The sign bit is left clear so NONE stays distinct
+    private static final char ID_SEPARATOR = '-';
+
+    private BookId() {
+    }
+
+    /**
+     * Packs a book's location into an ID.
+     *
+     * @param genreIndex The index of the book's genre in the {@link GenreRegistry}.
+     * @param shelf      The shelf number within the genre.
+     * @param slot       The slot number on the shelf.
+     * @return The packed ID.
+     * @throws IllegalArgumentException If any part is negative or too large to pack.
+     */
+    public static long of(int genreIndex, int shelf, int slot) {
+        if (genreIndex < 0 || genreIndex > MAX_GENRE_INDEX || shelf < 0 || shelf > MAX_SHELF
+                || slot < 0 || slot > MAX_SLOT) {
+            throw new IllegalArgumentException("Book ID out of range: " + genreIndex + "/" + shelf + "/" + slot);
+        }
+        return ((long) genreIndex << (SHELF_BITS + SLOT_BITS)) | ((long) shelf << SLOT_BITS) | slot;
+    }
+
+    public static int getGenreIndex(long bookId) {
+        return (int) (bookId >>> (SHELF_BITS + SLOT_BITS));
+    }
+
+    public static int getShelf(long bookId) {
+        return (int) (bookId >>> SLOT_BITS) & MAX_SHELF;
+    }
+
+    public static int getSlot(long bookId) {
+        return (int) bookId & MAX_SLOT;
+    }
+
+    /**
+     * Returns the ID of slot 0 on the same shelf, so every book on a shelf shares one key.
+     */
+    public static long getShelfKey(long bookId) {
+        return bookId & ~(long) MAX_SLOT;
+    }
+
+    /**
+     * Reads a {@code GENRE-shelf-slot} ID, such as "R-0-1". The prefix must be a registered genre, in any
+     * case, and the shelf and slot must be plain digits. IDs that differ only in case pack to the same ID.
+     *
+     * @param bookID The ID text.
+     * @return The packed ID, or {@link #NONE} if the text is not a valid ID.
+     */
+    public static long parse(String bookID) {
+        if (bookID == null) {
+            return NONE;
+        }
+        int shelfStart = bookID.indexOf(ID_SEPARATOR) + 1;
+        int slotStart = bookID.indexOf(ID_SEPARATOR, shelfStart) + 1;
+        if (shelfStart == 0 || slotStart == 0) {
+            return NONE;
+        }
+        Genre genre = findGenre(bookID, shelfStart - 1);
+        int shelf = parseNumber(bookID, shelfStart, slotStart - 1, MAX_SHELF);
+        int slot = parseNumber(bookID, slotStart, bookID.length(), MAX_SLOT);
+        return genre == null || shelf < 0 || slot < 0 ? NONE : of(genre.getIndex(), shelf, slot);
+    }
+
+    /**
+     * Returns the genre of a packed ID, or {@code null} if the ID is {@link #NONE} or its genre is unknown.
+     */
+    public static Genre getGenre(long bookId) {
+        GenreRegistry genreRegistry = GenreRegistry.getInstance();
+        if (bookId == NONE || getGenreIndex(bookId) >= genreRegistry.size()) {
+            return null;
+        }
+        return genreRegistry.get(getGenreIndex(bookId));
+    }
+
+    /**
+     * Returns the {@code GENRE-shelf-slot} text of a packed ID.
+     */
+    public static String toString(long bookId) {
+        return toShelfString(bookId) + ID_SEPARATOR + getSlot(bookId);
+    }
+
+    /**
+     * Returns the {@code GENRE-shelf} text naming the shelf of a packed ID.
+     */
+    public static String toShelfString(long bookId) {
+        Genre genre = getGenre(bookId);
+        assert genre != null : "Book ID has no registered genre";
+        return genre.getIdPrefix() + ID_SEPARATOR + getShelf(bookId);
+    }
+
+    /**
+     * Finds the genre whose ID prefix is the text before {@code prefixEnd}, ignoring case and comparing in place.
+     */
+    private static Genre findGenre(String bookID, int prefixEnd) {
+        for (Genre genre : GenreRegistry.getInstance().getGenres()) {
+            String prefix = genre.getIdPrefix();
+            if (prefix.length() == prefixEnd && bookID.regionMatches(true, 0, prefix, 0, prefixEnd)) {
+                return genre;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Reads the digits between {@code start} and {@code end}.
+     *
+     * @return The number, or -1 if the text is empty, has a non-digit or exceeds {@code max}.
+     */
+    private static int parseNumber(String text, int start, int end, int max) {
+        if (start >= end) {
+            return -1;
+        }
+        long number = 0;
+        for (int i = start; i < end; i++) {
+            char digit = text.charAt(i);
+            if (digit < '0' || digit > '9') {
+                return -1;
+            }
+            number = number * 10 + (digit - '0');
+            if (number > max) {
+                return -1;
+            }
+        }
+        return (int) number;
+    }
+}
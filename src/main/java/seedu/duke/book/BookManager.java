@@ -1,17 +1,26 @@
 package seedu.duke.book;
 
 import seedu.duke.exception.BookNotFoundException;
+import seedu.duke.genre.GenreRegistry;
 
 import java.time.LocalDate;
 import java.time.format.DateTimeFormatter;
-import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
 import java.util.HashSet;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Locale;
+import java.util.Map;
 import java.util.Set;
+import java.util.TreeMap;
 import java.util.ArrayList;
 
 import seedu.duke.member.Member;
 import seedu.duke.member.MemberManager;
+import seedu.duke.shelving.ShelvesManager;
 import seedu.duke.utility.GroupReturns;
 
 /**
@@ -24,22 +33,55 @@ public class BookManager {
 
     private static final String BORROW = "borrow";
     private static final String RETURN = "return";
+    private static final char EDITION_KEY_SEPARATOR = '\0';
 
-    // Central list of valid genres
-    private static final List<String> VALID_GENRES = Arrays.asList(
-            "romance", "adventure", "action", "horror", "mystery", "nonfiction", "scifi"
-    );
+    private static final CatalogueList books = new CatalogueList();
 
-    private static List<Book> books;
+    // Copies of each edition, keyed by title and author, in catalogue order with a count of borrowed copies
+    private static final Map<String, Edition> editions = new HashMap<>();
+
+    // Books of each lower-cased genre (including "unknown" for books without a valid ID), in catalogue order
+    private static final Map<String, Set<Book>> booksByGenre = new HashMap<>();
+
+    // Borrowed books, and the borrowed books that have a due date keyed by that date, so overdue books are
+    // the ones before today's key
+    private static final Set<Book> borrowedBooks = new HashSet<>();
+    private static final TreeMap<LocalDate, Set<Book>> booksByDueDate = new TreeMap<>();
+
+    // Running totals for the statistics command
+    private static final CatalogueStatistics statistics = new CatalogueStatistics();
+
+    // Trigram indexes for title and author substring searches
+    private static final TrigramIndex titleIndex = new TrigramIndex(Book::getTitle);
+    private static final TrigramIndex authorIndex = new TrigramIndex(Book::getAuthor);
+
+    // Index from upper-cased book ID to book
+    private static final Map<String, Book> booksByID = new HashMap<>();
 
     /**
      * Constructs a BookManager with the given list of books.
      * If the provided list is null, an empty list is initialized.
+     * The books are copied into the manager's own catalogue list, which {@link #getBooks()} returns.
      *
      * @param books The list of books to manage, or null to initialize an empty list.
      */
     private BookManager(List<Book> books) {
-        BookManager.books = books;
+        BookManager.books.clear();
+        editions.clear();
+        booksByGenre.clear();
+        borrowedBooks.clear();
+        booksByDueDate.clear();
+        statistics.clear();
+        titleIndex.clear();
+        authorIndex.clear();
+        booksByID.clear();
+        if (books == null) {
+            return;
+        }
+        for (Book book : books) {
+            BookManager.books.add(book);
+            indexBook(book);
+        }
     }
 
     /**
@@ -73,11 +115,12 @@ public class BookManager {
         if (genre == null) {
             return false;
         }
-        return VALID_GENRES.contains(genre.toLowerCase());
+        return GenreRegistry.getInstance().getByName(genre) != null;
     }
 
     /**
      * Gets the list of all books managed by this manager.
+     * Deleting from the list leaves a gap rather than shifting later books, and only appending is supported.
      *
      * @return The list of books.
      */
@@ -110,12 +153,13 @@ public class BookManager {
         }
         if (!isValidGenre(genre)) {
             return "This Library does not support this Genre! Valid genres are: "
-                    + String.join(", ", VALID_GENRES);
+                    + String.join(", ", GenreRegistry.getInstance().getNames());
         }
 
         Book newBook = new Book(title, author);
         newBook.setBookID(bookID);
         books.add(newBook);
+        indexBook(newBook);
 
         return "I've added: \"" + title + "\" (by " + author + ") (Genre: " + genre + ", ID: " + bookID + ").\n"
                 + "Total books in library: " + books.size();
@@ -134,12 +178,14 @@ public class BookManager {
         }
         Book removedBook = books.get(bookIndex);
 
-        for (Member member : MemberManager.getInstance().getAllMembers()) {
-            member.returnBook(removedBook);
+        Member borrower = removedBook.getBorrower();
+        if (borrower != null) {
+            borrower.returnBook(removedBook);
         }
 
         int oldSize = books.size();
         books.remove(bookIndex);
+        unindexBook(removedBook);
 
         assert books.size() == oldSize - 1 : "Book size should decrease by 1 after deletion";
         assert !books.contains(removedBook) : "Removed book should not be in the collection";
@@ -158,11 +204,11 @@ public class BookManager {
         } else {
             StringBuilder output = new StringBuilder("Here are the books in your library:\n");
             int totalQuantity = 0;
-            for (int i = 0; i < books.size(); i++) {
-                Book book = books.get(i);
-                assert book != null : "Book at index " + i + " should not be null";
-                output.append(i + 1).append(". ").append(book).append("\n");
+            // Numbers are counted while listing, so the list is never indexed by position
+            for (Book book : books) {
+                assert book != null : "Book at index " + totalQuantity + " should not be null";
                 totalQuantity++;
+                output.append(totalQuantity).append(". ").append(book).append("\n");
             }
             output.append("Total books: ").append(totalQuantity);
 
@@ -200,10 +246,9 @@ public class BookManager {
                 return "\"" + book.getTitle() + "\" is already borrowed by "
                         + book.getBorrowerName() + ".";
             }
-            book.setStatus(true);
-            book.setReturnDueDate(LocalDate.now().plusWeeks(2));
-            book.setBorrowerName(borrowerName);
+            setBookStatus(book, true, LocalDate.now().plusWeeks(2), borrowerName);
             borrower.borrowBook(book);
+            memberManager.recordBorrowing(borrower, book);
             DateTimeFormatter formatter = DateTimeFormatter.ofPattern("MMM dd yyyy");
             String dueDateStr = (book.getReturnDueDate() != null) ? book.getReturnDueDate().format(formatter) : "N/A";
             return borrowerName + " has borrowed: \"" + book.getTitle() + "\" (Due: "
@@ -212,15 +257,11 @@ public class BookManager {
             if (!book.isBorrowed()) {
                 return "\"" + book.getTitle() + "\" is not currently borrowed.";
             }
-            String originalBorrowerName = book.getBorrowerName();
-            if (originalBorrowerName != null && !originalBorrowerName.equals("null")
-                    && !originalBorrowerName.trim().isEmpty()) {
-                borrower = memberManager.getMemberByName(originalBorrowerName);
+            borrower = book.getBorrower();
+            if (borrower != null) {
                 borrower.returnBook(book); //update member's borrowed list
             }
-            book.setStatus(false);
-            book.setReturnDueDate(null);
-            book.setBorrowerName(null); //clear borrower info on the book
+            setBookStatus(book, false, null, null); //clear borrower info on the book
             return "Returned: \"" + book.getTitle() + "\"";
 
         } else {
@@ -235,12 +276,7 @@ public class BookManager {
      * @return Formatted string of borrowed books or a message if none are borrowed.
      */
     public String listBorrowedBooks() {
-        List<Book> borrowed = new ArrayList<>();
-        for (Book book : books) {
-            if (book.isBorrowed()) {
-                borrowed.add(book);
-            }
-        }
+        List<Book> borrowed = inCatalogueOrder(borrowedBooks);
 
         if (borrowed.isEmpty()) {
             return "No books are currently borrowed.";
@@ -281,11 +317,10 @@ public class BookManager {
      */
     public String listOverdueBooks() {
         List<Book> overdue = new ArrayList<>();
-        for (Book book : books) {
-            if (book.isOverdue()) {
-                overdue.add(book);
-            }
+        for (Set<Book> booksDue : booksByDueDate.headMap(LocalDate.now()).values()) {
+            overdue.addAll(booksDue);
         }
+        overdue = inCatalogueOrder(overdue);
 
         if (overdue.isEmpty()) {
             return "No books are currently overdue.";
@@ -326,92 +361,309 @@ public class BookManager {
      * @throws BookNotFoundException If the book is not found or lacks a valid ID.
      */
     public GroupReturns getBookID(String bookTitle, String author) throws BookNotFoundException {
-        for (int i = 0; i < books.size(); i++) {
-            Book book = books.get(i);
-            if (book.getTitle().equals(bookTitle) && book.getAuthor().equals(author)) {
-                if (book.getBookID() == null || book.getBookID().equals("NIL")) {
-                    // Broke long line
-                    throw new BookNotFoundException("Found book '" + bookTitle
-                            + "' but it has no valid Shelf ID.");
-                }
-                return new GroupReturns(i, book.getBookID());
-            }
+        Edition edition = editions.get(toEditionKey(bookTitle, author));
+        if (edition == null) {
+            // Broke long line
+            throw new BookNotFoundException("Book not found with title '" + bookTitle
+                    + "' and author '" + author + "'.");
         }
-        // Broke long line
-        throw new BookNotFoundException("Book not found with title '" + bookTitle
-                + "' and author '" + author + "'.");
+        Book book = edition.copies.get(0);
+        if (book.getBookID() == null || book.getBookID().equals("NIL")) {
+            // Broke long line
+            throw new BookNotFoundException("Found book '" + bookTitle
+                    + "' but it has no valid Shelf ID.");
+        }
+        return new GroupReturns(indexOf(book), book.getBookID());
     }
 
     //@@author eth4n22
+    /**
+     * Generates the library statistics from the running totals. Only the overdue count depends on today's
+     * date, so it is read from the due-date index, which visits just the dates that have passed.
+     *
+     * @return Formatted statistics, including how full each genre and each occupied shelf is.
+     */
     public String getStatistics() {
-        int borrowedBooks = 0;
         int overdueBooks = 0;
-
-        for (Book book : books) {
-            if (book.isBorrowed()) {
-                borrowedBooks++;
-            }
-            if (book.isOverdue()) {
-                overdueBooks++;
-            }
+        for (Set<Book> booksDue : booksByDueDate.headMap(LocalDate.now()).values()) {
+            overdueBooks += booksDue.size();
         }
 
         StringBuilder stats = new StringBuilder();
         stats.append("========== Library Statistics ==========\n");
-        stats.append("Total books copies: ").append(books.size()).append("\n");
+        stats.append("Total books copies: ").append(statistics.getCopyCount()).append("\n");
         stats.append("Unique titles: ").append(getUniqueTitleSize()).append("\n");
-        stats.append("Total books borrowed: ").append(borrowedBooks).append("\n");
+        stats.append("Total books borrowed: ").append(borrowedBooks.size()).append("\n");
         stats.append("Total books overdue: ").append(overdueBooks).append("\n");
         stats.append("List of unique titles: ").append(getUniqueTitles()).append("\n");
 
+        ShelvesManager shelvesManager = ShelvesManager.getShelvesManagerInstance();
+        stats.append("Genre utilisation:");
+        for (String genre : GenreRegistry.getInstance().getNames()) {
+            stats.append(" ").append(genre).append("=").append(statistics.getCopiesInGenre(genre))
+                    .append("/").append(shelvesManager.getCapacity(genre));
+        }
+        stats.append("\n");
+        stats.append("Shelf utilisation:");
+        for (Map.Entry<Long, Integer> shelf : statistics.getCopiesByShelf().entrySet()) {
+            stats.append(" ").append(BookId.toShelfString(shelf.getKey())).append("=").append(shelf.getValue())
+                    .append("/").append(shelvesManager.getSlotsPerShelf());
+        }
+        stats.append("\n");
+
         return stats.toString();
     }
 
     //@@author eth4n22
     public int getUniqueTitleSize() {
-        Set<String> uniqueTitlesSet = new HashSet<>();
-        for (Book book : books) {
-            uniqueTitlesSet.add(book.getTitle());
-        }
-        return uniqueTitlesSet.size();
+        return statistics.getUniqueTitleCount();
     }
 
     //@@author eth4n22
+    /**
+     * Returns the distinct titles in the catalogue.
+     *
+     * @return A read-only view of the titles, which reflects later changes to the catalogue.
+     */
     public Set<String> getUniqueTitles() {
-        Set<String> uniqueTitlesSet = new HashSet<>();
-        for (Book book : books) {
-            uniqueTitlesSet.add(book.getTitle());
-        }
-        return uniqueTitlesSet;
+        return statistics.getUniqueTitles();
     }
 
     public static int findBookQuantity(String title, String authorName) {
-        int count = 0;
-        for (Book books : books) {
-            if (books.corresponds(title, authorName)) {
-                count++;
-            }
-        }
-        return count;
+        Edition edition = editions.get(toEditionKey(title, authorName));
+        return edition == null ? 0 : edition.copies.size();
     }
 
     public static int findBookQuantityBorrowed(String title, String authorName) {
-        int count = 0;
-        for (Book books : books) {
-            if (books.correspondsToBorrowed(title, authorName)) {
-                count++;
-            }
+        Edition edition = editions.get(toEditionKey(title, authorName));
+        return edition == null ? 0 : edition.borrowedCount;
+    }
+
+    /**
+     * Returns the copies of a book with the given title and author, in catalogue order.
+     *
+     * @param title  The exact title.
+     * @param author The exact author.
+     * @return A read-only view of the copies, or an empty list if there are none.
+     */
+    public List<Book> getCopies(String title, String author) {
+        Edition edition = editions.get(toEditionKey(title, author));
+        return edition == null ? Collections.emptyList() : Collections.unmodifiableList(edition.copies);
+    }
+
+    /**
+     * Returns the position of a book in the catalogue, as shown to the user. The book itself is a stable
+     * handle, so callers keep the book rather than a position that later deletions would invalidate.
+     *
+     * @param book The book to find.
+     * @return The 0-based position of the book, or -1 if it is not in the catalogue.
+     */
+    public int indexOf(Book book) {
+        return books.indexOf(book);
+    }
+
+    /**
+     * Sets a book's borrowing status, due date and borrower, keeping the borrowed-copy counts and the
+     * borrowed and overdue indexes up to date. Every change to whether a catalogued book is borrowed, or to
+     * its due date, must pass through here.
+     *
+     * @param book         The book to update.
+     * @param isBorrowed   Whether the book is now borrowed.
+     * @param dueDate      The new due date, or {@code null}.
+     * @param borrowerName The new borrower, or {@code null}.
+     */
+    public void setBookStatus(Book book, boolean isBorrowed, LocalDate dueDate, String borrowerName) {
+        boolean isCatalogued = isCatalogued(book);
+        if (isCatalogued) {
+            untrackStatus(book);
+        }
+        book.setStatus(isBorrowed);
+        book.setReturnDueDate(dueDate);
+        book.setBorrowerName(borrowerName);
+        if (isCatalogued) {
+            trackStatus(book);
         }
-        return count;
     }
 
+    /**
+     * Returns the 0-based position of the book with the given ID.
+     *
+     * @param bookID The ID of the book, in any case.
+     * @return The position of the book in the catalogue.
+     * @throws BookNotFoundException If no book has that ID.
+     */
     public int getBookIndex(String bookID) throws BookNotFoundException {
-        for (int i = 0; i < books.size(); i++) {
-            if (books.get(i).getBookID().equals(bookID)) {
-                return i;
-            }
+        Book book = getBookByID(bookID);
+        if (book == null) {
+            throw new BookNotFoundException("Book not found in library!");
         }
-        throw new BookNotFoundException("Book not found in library!");
+        return books.indexOf(book);
+    }
+
+    /**
+     * Returns the book with the given ID in constant time.
+     *
+     * @param bookID The ID of the book, in any case.
+     * @return The book, or {@code null} if no book has that ID.
+     */
+    public Book getBookByID(String bookID) {
+        return bookID == null ? null : booksByID.get(toIndexKey(bookID));
+    }
+
+    /**
+     * Returns a {@code BookFinder} over the catalogue that searches through the indexes.
+     *
+     * @return A finder for the current catalogue.
+     */
+    public BookFinder getBookFinder() {
+        return new BookFinder(books, booksByID, booksByGenre, titleIndex, authorIndex);
+    }
+
+    /**
+     * Returns the books of one genre without looking at the rest of the catalogue.
+     *
+     * @param genre The genre, in any case.
+     * @return A copy of the books in that genre, in catalogue order.
+     */
+    public List<Book> getBooksInGenre(String genre) {
+        Set<Book> partition = booksByGenre.get(toGenreKey(genre));
+        return partition == null ? new ArrayList<>() : new ArrayList<>(partition);
+    }
+
+    /**
+     * Returns the number of books of one genre.
+     *
+     * @param genre The genre, in any case.
+     * @return The number of books in that genre.
+     */
+    public int countBooksInGenre(String genre) {
+        Set<Book> partition = booksByGenre.get(toGenreKey(genre));
+        return partition == null ? 0 : partition.size();
+    }
+
+    /**
+     * Puts a book that was removed back at the end of the catalogue, as when a deletion is undone.
+     *
+     * @param book The book to restore.
+     */
+    public void restoreBook(Book book) {
+        books.add(book);
+        indexBook(book);
+    }
+
+    /**
+     * Adds a book to the ID, edition, genre, status and trigram indexes and to the statistics.
+     * Every book added to {@code books} must pass through here.
+     *
+     * @param book The book that was added.
+     */
+    private static void indexBook(Book book) {
+        Edition edition = editions.computeIfAbsent(toEditionKey(book.getTitle(), book.getAuthor()),
+                key -> new Edition());
+        edition.copies.add(book);
+        booksByGenre.computeIfAbsent(toGenreKey(book.getGenre()), key -> new LinkedHashSet<>()).add(book);
+        trackStatus(book);
+        statistics.recordAddition(book);
+        titleIndex.add(book);
+        authorIndex.add(book);
+
+        if (book.getBookID() != null) {
+            booksByID.put(toIndexKey(book.getBookID()), book);
+        }
+    }
+
+    /**
+     * Removes a book from the ID, edition, genre, status and trigram indexes and from the statistics.
+     * Every book removed from {@code books} must pass through here.
+     *
+     * @param book The book that was removed.
+     */
+    private static void unindexBook(Book book) {
+        if (isCatalogued(book)) {
+            untrackStatus(book);
+        }
+        String editionKey = toEditionKey(book.getTitle(), book.getAuthor());
+        Edition edition = editions.get(editionKey);
+        if (edition != null && edition.copies.remove(book) && edition.copies.isEmpty()) {
+            editions.remove(editionKey);
+        }
+        Set<Book> partition = booksByGenre.get(toGenreKey(book.getGenre()));
+        if (partition != null) {
+            partition.remove(book);
+        }
+        statistics.recordRemoval(book);
+        titleIndex.remove(book);
+        authorIndex.remove(book);
+
+        if (book.getBookID() != null) {
+            booksByID.remove(toIndexKey(book.getBookID()), book);
+        }
+    }
+
+    private static boolean isCatalogued(Book book) {
+        Set<Book> partition = booksByGenre.get(toGenreKey(book.getGenre()));
+        return partition != null && partition.contains(book);
+    }
+
+    /**
+     * Counts a catalogued book as borrowed, and files it under its due date, if it is borrowed.
+     */
+    private static void trackStatus(Book book) {
+        if (!book.isBorrowed()) {
+            return;
+        }
+        editions.get(toEditionKey(book.getTitle(), book.getAuthor())).borrowedCount++;
+        borrowedBooks.add(book);
+        if (book.getReturnDueDate() != null) {
+            booksByDueDate.computeIfAbsent(book.getReturnDueDate(), key -> new HashSet<>()).add(book);
+        }
+    }
+
+    /**
+     * Reverses {@link #trackStatus(Book)} before a catalogued book's status changes or it is removed.
+     */
+    private static void untrackStatus(Book book) {
+        if (!borrowedBooks.remove(book)) {
+            return;
+        }
+        editions.get(toEditionKey(book.getTitle(), book.getAuthor())).borrowedCount--;
+        LocalDate dueDate = book.getReturnDueDate();
+        Set<Book> booksDue = dueDate == null ? null : booksByDueDate.get(dueDate);
+        if (booksDue != null && booksDue.remove(book) && booksDue.isEmpty()) {
+            booksByDueDate.remove(dueDate);
+        }
+    }
+
+    /**
+     * Sorts some of the catalogued books into catalogue order.
+     */
+    private List<Book> inCatalogueOrder(Collection<Book> someBooks) {
+        List<Book> sorted = new ArrayList<>(someBooks);
+        sorted.sort(Comparator.comparingInt(this::indexOf));
+        return sorted;
+    }
+
+    /**
+     * Book IDs are matched case-insensitively by searches, so the index is keyed by the upper-cased ID.
+     */
+    static String toIndexKey(String bookID) {
+        return bookID.toUpperCase(Locale.ROOT);
+    }
+
+    static String toGenreKey(String genre) {
+        return genre.toLowerCase(Locale.ROOT);
+    }
+
+    private static String toEditionKey(String title, String author) {
+        return title + EDITION_KEY_SEPARATOR + author;
+    }
+
+    /**
+     * The copies of one title by one author, with the number of them that are borrowed.
+     */
+    private static class Edition {
+        private final List<Book> copies = new ArrayList<>();
+        private int borrowedCount = 0;
     }
 
     //@@author WayneCh0y
@@ -421,5 +673,13 @@ public class BookManager {
      */
     public void cleanup() {
         books.clear();
+        editions.clear();
+        booksByGenre.clear();
+        borrowedBooks.clear();
+        booksByDueDate.clear();
+        statistics.clear();
+        titleIndex.clear();
+        authorIndex.clear();
+        booksByID.clear();
     }
 }
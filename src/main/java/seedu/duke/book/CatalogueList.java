@@ -0,0 +1,260 @@
+package seedu.duke.book;
+
+import java.util.AbstractList;
+import java.util.Collection;
+import java.util.ConcurrentModificationException;
+import java.util.IdentityHashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+
+/**
+ * The list of books in the catalogue. The books themselves are the stable handles: each is mapped to the
+ * slot it was appended to, removing a book leaves a tombstone in its slot instead of shifting every later
+ * book, and a book's position as shown to the user is counted from the live slots only when asked for.
+ * <p>
+ * Positions are counted with a Fenwick tree over the live slots, so {@code get}, {@code indexOf} and
+ * {@code remove} take logarithmic time. Tombstones are swept out once they outnumber the books, so a
+ * removal is amortised logarithmic as well. Iteration walks the slots directly.
+ * <p>
+ * Books can only be appended, and each book may appear at most once.
+ */
+class CatalogueList extends AbstractList<Book> {
+    private static final int INITIAL_CAPACITY = 16;
+    private static final int MIN_TOMBSTONES_TO_COMPACT = 16;
+
+    private Book[] slots = new Book[INITIAL_CAPACITY]; // null marks a tombstone or an unused slot
+    private int[] liveCounts = new int[INITIAL_CAPACITY + 1]; // Fenwick tree over slots, 1-based
+    private int usedSlotCount = 0;
+    private int size = 0;
+    private final Map<Book, Integer> slotsByBook = new IdentityHashMap<>();
+
+    CatalogueList() {
+    }
+
+    /**
+     * Creates a list holding the given books in order.
+     *
+     * @param books The books to copy in.
+     */
+    CatalogueList(Collection<Book> books) {
+        addAll(books);
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public Book get(int index) {
+        return slots[toSlot(index)];
+    }
+
+    @Override
+    public Book set(int index, Book book) {
+        int slot = toSlot(index);
+        Book previous = slots[slot];
+        if (previous == book) {
+            return previous;
+        }
+        requireNotListed(book);
+        slotsByBook.remove(previous);
+        slots[slot] = book;
+        slotsByBook.put(book, slot);
+        return previous;
+    }
+
+    @Override
+    public void add(int index, Book book) {
+        if (index != size) {
+            throw new UnsupportedOperationException("Books can only be added to the end of the catalogue");
+        }
+        requireNotListed(book);
+        if (usedSlotCount == slots.length) {
+            resize(Math.max(INITIAL_CAPACITY, size * 2));
+        }
+        int slot = usedSlotCount++;
+        slots[slot] = book;
+        slotsByBook.put(book, slot);
+        addToCount(slot, 1);
+        size++;
+        modCount++;
+    }
+
+    @Override
+    public Book remove(int index) {
+        int slot = toSlot(index);
+        Book book = slots[slot];
+        removeSlot(slot);
+        return book;
+    }
+
+    @Override
+    public boolean remove(Object book) {
+        Integer slot = slotsByBook.get(book);
+        if (slot == null) {
+            return false;
+        }
+        removeSlot(slot);
+        return true;
+    }
+
+    @Override
+    public int indexOf(Object book) {
+        Integer slot = slotsByBook.get(book);
+        return slot == null ? -1 : countLiveSlotsUpTo(slot) - 1;
+    }
+
+    @Override
+    public int lastIndexOf(Object book) {
+        return indexOf(book);
+    }
+
+    @Override
+    public boolean contains(Object book) {
+        return slotsByBook.containsKey(book);
+    }
+
+    @Override
+    public void clear() {
+        slots = new Book[INITIAL_CAPACITY];
+        liveCounts = new int[INITIAL_CAPACITY + 1];
+        usedSlotCount = 0;
+        size = 0;
+        slotsByBook.clear();
+        modCount++;
+    }
+
+    @Override
+    public Iterator<Book> iterator() {
+        return new Iterator<>() {
+            private int nextSlot = skipTombstones(0);
+            private int lastSlot = -1;
+            private int expectedModCount = modCount;
+
+            @Override
+            public boolean hasNext() {
+                return nextSlot < usedSlotCount;
+            }
+
+            @Override
+            public Book next() {
+                if (modCount != expectedModCount) {
+                    throw new ConcurrentModificationException();
+                }
+                if (!hasNext()) {
+                    throw new NoSuchElementException();
+                }
+                lastSlot = nextSlot;
+                nextSlot = skipTombstones(nextSlot + 1);
+                return slots[lastSlot];
+            }
+
+            @Override
+            public void remove() {
+                if (lastSlot < 0) {
+                    throw new IllegalStateException();
+                }
+                if (modCount != expectedModCount) {
+                    throw new ConcurrentModificationException();
+                }
+                Book nextBook = hasNext() ? slots[nextSlot] : null;
+                CatalogueList.this.remove(slots[lastSlot]);
+                // Removing may have swept out the tombstones and moved the books to new slots
+                nextSlot = nextBook == null ? usedSlotCount : slotsByBook.get(nextBook);
+                lastSlot = -1;
+                expectedModCount = modCount;
+            }
+        };
+    }
+
+    private int skipTombstones(int slot) {
+        while (slot < usedSlotCount && slots[slot] == null) {
+            slot++;
+        }
+        return slot;
+    }
+
+    private void removeSlot(int slot) {
+        slotsByBook.remove(slots[slot]);
+        slots[slot] = null;
+        addToCount(slot, -1);
+        size--;
+        modCount++;
+        int tombstoneCount = usedSlotCount - size;
+        if (tombstoneCount >= MIN_TOMBSTONES_TO_COMPACT && tombstoneCount > size) {
+            resize(Math.max(INITIAL_CAPACITY, size * 2));
+        }
+    }
+
+    private void requireNotListed(Book book) {
+        if (book == null) {
+            throw new NullPointerException("Book cannot be null");
+        }
+        if (slotsByBook.containsKey(book)) {
+            throw new IllegalArgumentException("Book is already in the catalogue: " + book.getTitle());
+        }
+    }
+
+    /**
+     * Moves the books into a new array of the given capacity with no tombstones, and rebuilds the counts.
+     */
+    private void resize(int capacity) {
+        Book[] newSlots = new Book[capacity];
+        int slot = 0;
+        for (int i = 0; i < usedSlotCount; i++) {
+            if (slots[i] != null) {
+                newSlots[slot] = slots[i];
+                slotsByBook.put(slots[i], slot);
+                slot++;
+            }
+        }
+        slots = newSlots;
+        usedSlotCount = slot;
+
+        // Every live slot is now below usedSlotCount, so each tree node counts the used slots it covers
+        liveCounts = new int[capacity + 1];
+        for (int node = 1; node <= capacity; node++) {
+            int lowestCovered = node - (node & -node);
+            liveCounts[node] = Math.max(0, Math.min(node, usedSlotCount) - lowestCovered);
+        }
+    }
+
+    private void addToCount(int slot, int delta) {
+        for (int node = slot + 1; node < liveCounts.length; node += node & -node) {
+            liveCounts[node] += delta;
+        }
+    }
+
+    private int countLiveSlotsUpTo(int slot) {
+        int count = 0;
+        for (int node = slot + 1; node > 0; node -= node & -node) {
+            count += liveCounts[node];
+        }
+        return count;
+    }
+
+    /**
+     * Finds the slot of the book at a position by descending the tree to the slot with that many live
+     * slots before it.
+     */
+    private int toSlot(int index) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size);
+        }
+        if (size == usedSlotCount) {
+            return index;
+        }
+        int node = 0;
+        int remaining = index + 1;
+        for (int step = Integer.highestOneBit(liveCounts.length - 1); step > 0; step >>= 1) {
+            int next = node + step;
+            if (next < liveCounts.length && liveCounts[next] < remaining) {
+                node = next;
+                remaining -= liveCounts[next];
+            }
+        }
+        return node; // The 1-based node after the descent is the 0-based slot of the book
+    }
+}
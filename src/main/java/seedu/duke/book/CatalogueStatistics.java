@@ -0,0 +1,75 @@
+package seedu.duke.book;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+
+//@@author eth4n22
+/**
+ * Running totals over the catalogue for the {@code statistics} command. {@link BookManager} reports every
+ * book entering or leaving the catalogue, so reading a total never has to walk the books.
+ */
+class CatalogueStatistics {
+    private final Map<String, Integer> copiesByTitle = new HashMap<>();
+    private final Map<String, Integer> copiesByGenre = new HashMap<>();
+    private final Map<Long, Integer> copiesByShelf = new TreeMap<>(); // Keyed by BookId.getShelfKey, sorted
+    private int copyCount = 0;
+
+    void recordAddition(Book book) {
+        copyCount++;
+        copiesByTitle.merge(book.getTitle(), 1, Integer::sum);
+        copiesByGenre.merge(BookManager.toGenreKey(book.getGenre()), 1, Integer::sum);
+        if (book.getId() != BookId.NONE) {
+            copiesByShelf.merge(BookId.getShelfKey(book.getId()), 1, Integer::sum);
+        }
+    }
+
+    void recordRemoval(Book book) {
+        copyCount--;
+        decrement(copiesByTitle, book.getTitle());
+        decrement(copiesByGenre, BookManager.toGenreKey(book.getGenre()));
+        if (book.getId() != BookId.NONE) {
+            decrement(copiesByShelf, BookId.getShelfKey(book.getId()));
+        }
+    }
+
+    void clear() {
+        copiesByTitle.clear();
+        copiesByGenre.clear();
+        copiesByShelf.clear();
+        copyCount = 0;
+    }
+
+    int getCopyCount() {
+        return copyCount;
+    }
+
+    int getUniqueTitleCount() {
+        return copiesByTitle.size();
+    }
+
+    /**
+     * Returns a read-only view of the distinct titles in the catalogue.
+     */
+    Set<String> getUniqueTitles() {
+        return Collections.unmodifiableSet(copiesByTitle.keySet());
+    }
+
+    int getCopiesInGenre(String genre) {
+        return copiesByGenre.getOrDefault(BookManager.toGenreKey(genre), 0);
+    }
+
+    /**
+     * Returns a read-only view of the number of copies on each shelf that holds any, keyed by the packed ID
+     * of the shelf's first slot and sorted by genre and then shelf number.
+     */
+    Map<Long, Integer> getCopiesByShelf() {
+        return Collections.unmodifiableMap(copiesByShelf);
+    }
+
+    private static <K> void decrement(Map<K, Integer> counts, K key) {
+        counts.computeIfPresent(key, (unused, count) -> count == 1 ? null : count - 1);
+    }
+}
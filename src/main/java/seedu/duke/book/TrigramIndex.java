@@ -0,0 +1,136 @@
+package seedu.duke.book;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+
+/**
+ * Index of the three-character substrings (trigrams) of one book field, such as the title, used to answer
+ * case-insensitive substring searches without scanning every book.
+ * <p>
+ * The field is lower-cased exactly as {@link BookFinder}'s scans do it, and only distinct lower-cased
+ * values are indexed, so copies of the same title share one entry. Any value containing the query has
+ * every trigram of the query, so intersecting the trigram postings yields all candidates; each candidate
+ * is then checked with {@code contains}, giving the same results as a full scan.
+ */
+class TrigramIndex {
+    private static final int GRAM_LENGTH = 3;
+
+    private final Function<Book, String> field;
+    private final Map<String, Set<String>> valuesByTrigram = new HashMap<>();
+    private final Map<String, Set<Book>> booksByValue = new HashMap<>();
+    private final Map<Book, Long> insertionOrder = new HashMap<>();
+    private long nextInsertion = 0;
+
+    /**
+     * Creates an empty index over the given field of each book.
+     *
+     * @param field Returns the text to index for a book.
+     */
+    TrigramIndex(Function<Book, String> field) {
+        this.field = field;
+    }
+
+    /**
+     * Adds a book. Books must be added in catalogue order, which is the order results are returned in.
+     *
+     * @param book The book to add.
+     */
+    void add(Book book) {
+        String value = field.apply(book).toLowerCase();
+        Set<Book> books = booksByValue.get(value);
+        if (books == null) {
+            books = new LinkedHashSet<>();
+            booksByValue.put(value, books);
+            for (String trigram : trigrams(value)) {
+                valuesByTrigram.computeIfAbsent(trigram, key -> new HashSet<>()).add(value);
+            }
+        }
+        books.add(book);
+        insertionOrder.put(book, nextInsertion++);
+    }
+
+    void remove(Book book) {
+        if (insertionOrder.remove(book) == null) {
+            return;
+        }
+        String value = field.apply(book).toLowerCase();
+        Set<Book> books = booksByValue.get(value);
+        books.remove(book);
+        if (!books.isEmpty()) {
+            return;
+        }
+
+        booksByValue.remove(value);
+        for (String trigram : trigrams(value)) {
+            Set<String> values = valuesByTrigram.get(trigram);
+            values.remove(value);
+            if (values.isEmpty()) {
+                valuesByTrigram.remove(trigram);
+            }
+        }
+    }
+
+    void clear() {
+        valuesByTrigram.clear();
+        booksByValue.clear();
+        insertionOrder.clear();
+        nextInsertion = 0;
+    }
+
+    /**
+     * Finds the books whose field, lower-cased, contains the lower-cased query.
+     *
+     * @param query The text to search for.
+     * @return The matching books in catalogue order, or {@code null} if the query is shorter than a trigram
+     *     and the index cannot narrow the search.
+     */
+    List<Book> find(String query) {
+        String lowerCaseQuery = query.toLowerCase();
+        if (lowerCaseQuery.length() < GRAM_LENGTH) {
+            return null;
+        }
+
+        List<Set<String>> postings = new ArrayList<>();
+        for (String trigram : trigrams(lowerCaseQuery)) {
+            Set<String> values = valuesByTrigram.get(trigram);
+            if (values == null) {
+                return new ArrayList<>();
+            }
+            postings.add(values);
+        }
+        postings.sort(Comparator.comparingInt(Set::size));
+
+        List<Book> matches = new ArrayList<>();
+        for (String value : postings.get(0)) {
+            if (isInAll(value, postings) && value.contains(lowerCaseQuery)) {
+                matches.addAll(booksByValue.get(value));
+            }
+        }
+        matches.sort(Comparator.comparingLong(insertionOrder::get));
+        return matches;
+    }
+
+    private static boolean isInAll(String value, List<Set<String>> postings) {
+        for (int i = 1; i < postings.size(); i++) {
+            if (!postings.get(i).contains(value)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static Set<String> trigrams(String value) {
+        Set<String> trigrams = new HashSet<>();
+        for (int i = 0; i + GRAM_LENGTH <= value.length(); i++) {
+            trigrams.add(value.substring(i, i + GRAM_LENGTH));
+        }
+        return trigrams;
+    }
+}
@@ -3,7 +3,7 @@ package seedu.duke.book;
 import seedu.duke.commands.Command;
 import seedu.duke.library.Library;
 import seedu.duke.member.MemberManager;
-import seedu.duke.storage.Storage;
+import seedu.duke.storage.StorageBackend;
 import seedu.duke.ui.Ui;
 
 import java.util.Stack;
@@ -23,7 +23,7 @@ public class UndoManager {
         return commandHistory.stream().filter(Command::isUndoable).count();
     }
 
-    public void undoCommands(int count, Library library, Ui ui, Storage storage, MemberManager memberManager) {
+    public void undoCommands(int count, Library library, Ui ui, StorageBackend storage, MemberManager memberManager) {
         if (commandHistory.isEmpty()) {
             ui.printError("No commands to undo!");
             return;
@@ -43,7 +43,6 @@ public class UndoManager {
             Command lastCommand = commandHistory.pop();
             if (lastCommand.isUndoable()) {
                 lastCommand.undo(library, ui, storage, memberManager);
-                storage.writeToFile(library.getBooks());
                 ui.printSuccess("Successfully undone: " + lastCommand.getCommandDescription());
                 undoneCount++;
             } else {
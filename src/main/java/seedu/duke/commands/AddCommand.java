@@ -1,16 +1,17 @@
 package seedu.duke.commands;
 
+import seedu.duke.book.Book;
 import seedu.duke.exception.LeBookException;
 import seedu.duke.library.Library;
 import seedu.duke.member.MemberManager;
-import seedu.duke.storage.Storage;
+import seedu.duke.storage.StorageBackend;
 import seedu.duke.ui.Ui;
 
 public class AddCommand extends Command {
     private final String title;
     private final String author;
     private final String genre;
-    private int addedBookIndex = -1;
+    private Book addedBook;
 
     public AddCommand(String title, String author, String genre) {
         this.title = title;
@@ -19,7 +20,7 @@ public class AddCommand extends Command {
     }
 
     @Override
-    public boolean execute(Library library, Ui ui, Storage storage, MemberManager memberManager)
+    public boolean execute(Library library, Ui ui, StorageBackend storage, MemberManager memberManager)
             throws LeBookException {
         assert library != null : "Library should not be null";
         assert ui != null : "Ui should not be null";
@@ -31,24 +32,28 @@ public class AddCommand extends Command {
             throw new LeBookException("Book title cannot contain \"|\"");
         }
 
+        int previousSize = library.getBooks().size();
         String responseForCatalogue = library.addNewBookToCatalogue(title, author, genre);
 
-        if (!responseForCatalogue.equals("This Library does not support this Genre!")) {
+        if (library.getBooks().size() > previousSize) {
             String responseForShelf = library.addNewBookToShelf(title, author, genre);
             ui.printWithSeparator(responseForCatalogue + responseForShelf);
-            storage.writeToFile(library.getBooks());
-            addedBookIndex = library.getLastAddedBookIndex(title, author);
+            addedBook = library.getBooks().get(library.getLastAddedBookIndex(title, author));
+            storage.recordAddition(addedBook, library.getBooks());
             return true;
         }
+        ui.printWithSeparator(responseForCatalogue);
         return false;
     }
 
     @Override
-    public void undo(Library library, Ui ui, Storage storage, MemberManager memberManager) {
+    public void undo(Library library, Ui ui, StorageBackend storage, MemberManager memberManager) {
+        // The book is looked up again, as deletions since it was added may have moved it
+        int addedBookIndex = addedBook == null ? -1 : library.getBookManager().indexOf(addedBook);
         if (addedBookIndex != -1) {
             String result = library.deleteBook(addedBookIndex);
             ui.printWithSeparator("Undo AddCommand:\n" + result);
-            storage.writeToFile(library.getBooks());
+            storage.recordDeletion(addedBook, library.getBooks());
         } else {
             ui.printError("Nothing to undo for AddCommand.");
         }
@@ -3,14 +3,14 @@ package seedu.duke.commands;
 import seedu.duke.exception.LeBookException;
 import seedu.duke.library.Library;
 import seedu.duke.member.MemberManager;
-import seedu.duke.storage.Storage;
+import seedu.duke.storage.StorageBackend;
 import seedu.duke.ui.Ui;
 
 public abstract class Command {
-    public abstract boolean execute(Library library, Ui ui, Storage storage, MemberManager memberManager)
+    public abstract boolean execute(Library library, Ui ui, StorageBackend storage, MemberManager memberManager)
             throws LeBookException;
 
-    public abstract void undo(Library library, Ui ui, Storage storage, MemberManager memberManager);
+    public abstract void undo(Library library, Ui ui, StorageBackend storage, MemberManager memberManager);
 
 
     public String getCommandDescription(){
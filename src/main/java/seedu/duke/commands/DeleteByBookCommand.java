@@ -3,7 +3,7 @@ package seedu.duke.commands;
 import seedu.duke.book.Book;
 import seedu.duke.library.Library;
 import seedu.duke.member.MemberManager;
-import seedu.duke.storage.Storage;
+import seedu.duke.storage.StorageBackend;
 import seedu.duke.ui.Ui;
 
 /**
@@ -23,7 +23,7 @@ public class DeleteByBookCommand extends Command {
     }
 
     @Override
-    public boolean execute(Library library, Ui ui, Storage storage, MemberManager memberManager) {
+    public boolean execute(Library library, Ui ui, StorageBackend storage, MemberManager memberManager) {
         assert library != null : "BookManager should not be null";
         assert ui != null : "Ui should not be null";
         assert storage != null : "Storage should not be null";
@@ -37,15 +37,15 @@ public class DeleteByBookCommand extends Command {
 
         String response = library.deleteBook(bookTitle, bookAuthor);
         ui.printWithSeparator(response);
-        storage.writeToFile(library.getBooks());
+        storage.recordDeletion(deletedBook, library.getBooks());
         return true;
     }
     //@@author eth4n22
     @Override
-    public void undo(Library library, Ui ui, Storage storage, MemberManager memberManager) {
+    public void undo(Library library, Ui ui, StorageBackend storage, MemberManager memberManager) {
         if (deletedBook != null) {
             library.restoreBook(deletedBook);
-            storage.writeToFile(library.getBooks());
+            storage.recordAddition(deletedBook, library.getBooks());
         } else {
             ui.printError("Nothing to undo for DeleteByBookCommand");
         }
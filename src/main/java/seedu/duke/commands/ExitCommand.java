@@ -3,16 +3,17 @@ package seedu.duke.commands;
 
 import seedu.duke.library.Library;
 import seedu.duke.member.MemberManager;
-import seedu.duke.storage.Storage;
+import seedu.duke.storage.StorageBackend;
 import seedu.duke.ui.Ui;
 
 public class ExitCommand extends Command {
 
     @Override
-    public boolean execute(Library library, Ui ui, Storage storage, MemberManager memberManager) {
+    public boolean execute(Library library, Ui ui, StorageBackend storage, MemberManager memberManager) {
         assert library != null : "BookManager should not be null";
         assert ui != null : "Ui should not be null";
         assert storage != null : "Storage should not be null";
+        storage.flush();
         return true;
     }
 
@@ -22,7 +23,7 @@ public class ExitCommand extends Command {
     }
     //@@author
     @Override
-    public void undo(Library library, Ui ui, Storage storage, MemberManager memberManager) {
+    public void undo(Library library, Ui ui, StorageBackend storage, MemberManager memberManager) {
     }
 
 }
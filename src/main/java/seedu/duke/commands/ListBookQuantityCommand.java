@@ -4,7 +4,7 @@ import seedu.duke.book.QuantityManager;
 import seedu.duke.exception.LeBookException;
 import seedu.duke.library.Library;
 import seedu.duke.member.MemberManager;
-import seedu.duke.storage.Storage;
+import seedu.duke.storage.StorageBackend;
 import seedu.duke.ui.Ui;
 
 public class ListBookQuantityCommand extends Command {
@@ -19,7 +19,7 @@ public class ListBookQuantityCommand extends Command {
 
     //@@author eth4n22
     @Override
-    public boolean execute(Library library, Ui ui, Storage storage, MemberManager memberManager)
+    public boolean execute(Library library, Ui ui, StorageBackend storage, MemberManager memberManager)
             throws LeBookException {
         assert library != null : "Library should not be null";
         assert ui != null : "Ui should not be null";
@@ -38,7 +38,7 @@ public class ListBookQuantityCommand extends Command {
     }
 
     @Override
-    public void undo(Library library, Ui ui, Storage storage, MemberManager memberManager) {
+    public void undo(Library library, Ui ui, StorageBackend storage, MemberManager memberManager) {
     }
 
 }
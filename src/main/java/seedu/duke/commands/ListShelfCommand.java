@@ -3,7 +3,7 @@ package seedu.duke.commands;
 import seedu.duke.exception.LeBookException;
 import seedu.duke.library.Library;
 import seedu.duke.member.MemberManager;
-import seedu.duke.storage.Storage;
+import seedu.duke.storage.StorageBackend;
 import seedu.duke.ui.Ui;
 
 public class ListShelfCommand extends Command {
@@ -16,7 +16,7 @@ public class ListShelfCommand extends Command {
     }
 
     @Override
-    public boolean execute(Library library, Ui ui, Storage storage, MemberManager memberManager)
+    public boolean execute(Library library, Ui ui, StorageBackend storage, MemberManager memberManager)
             throws LeBookException {
         assert library != null : "BookManager should not be null";
         assert ui != null : "Ui should not be null";
@@ -27,7 +27,7 @@ public class ListShelfCommand extends Command {
     }
 
     @Override
-    public void undo(Library library, Ui ui, Storage storage, MemberManager memberManager) {
+    public void undo(Library library, Ui ui, StorageBackend storage, MemberManager memberManager) {
     }
 
 }
@@ -6,7 +6,7 @@ import seedu.duke.book.BookManager;
 import seedu.duke.exception.LeBookException;
 import seedu.duke.library.Library;
 import seedu.duke.member.MemberManager;
-import seedu.duke.storage.Storage;
+import seedu.duke.storage.StorageBackend;
 import seedu.duke.ui.Ui;
 
 import java.util.List;
@@ -43,14 +43,14 @@ public class SearchByAuthorCommand extends Command {
      * @throws LeBookException If the search term is empty or if any other error occurs.
      */
     @Override
-    public boolean execute(Library library, Ui ui, Storage storage, MemberManager memberManager)
+    public boolean execute(Library library, Ui ui, StorageBackend storage, MemberManager memberManager)
             throws LeBookException {
         if (searchTerm.isEmpty()) {
             throw new LeBookException("Please provide an author name to search for.");
         }
         List<Book> books = null;
         BookManager bookManager = BookManager.getBookManagerInstance(books);
-        BookFinder finder = new BookFinder(bookManager.getBooks());
+        BookFinder finder = bookManager.getBookFinder();
         List<Book> results = finder.findBooksByAuthor(searchTerm);
 
         if (results.isEmpty()) {
@@ -63,7 +63,7 @@ public class SearchByAuthorCommand extends Command {
     }
 
     @Override
-    public void undo(Library library, Ui ui, Storage storage, MemberManager memberManager) {
+    public void undo(Library library, Ui ui, StorageBackend storage, MemberManager memberManager) {
     }
 
 }
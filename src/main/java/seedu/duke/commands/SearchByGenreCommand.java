@@ -4,9 +4,10 @@ import seedu.duke.book.Book;
 import seedu.duke.book.BookFinder;
 import seedu.duke.book.BookManager;
 import seedu.duke.exception.LeBookException;
+import seedu.duke.genre.GenreRegistry;
 import seedu.duke.library.Library;
 import seedu.duke.member.MemberManager;
-import seedu.duke.storage.Storage;
+import seedu.duke.storage.StorageBackend;
 import seedu.duke.ui.Ui;
 
 import java.util.List;
@@ -18,12 +19,12 @@ import java.util.List;
  * searching to the BookFinder utility class.
  * Usage: find genre GENRE_NAME
  * Example: find genre adventure
- * Supported genres are: romance, adventure, action, horror, mystery, nonfiction, and scifi.
+ * Supported genres are those in the {@link GenreRegistry}: romance, adventure, action, horror, mystery,
+ * nonfiction and scifi, plus any added from configuration.
  */
 public class SearchByGenreCommand extends Command {
     public static final String MESSAGE_INVALID_GENRE = "Invalid genre provided. " +
-            "Please use one of the supported genres:" +
-            "\n" + "  romance, adventure, action, horror, mystery, nonfiction, scifi";
+            "Please use one of the supported genres:" + "\n" + "  ";
 
     private final String searchTerm;
 
@@ -48,7 +49,7 @@ public class SearchByGenreCommand extends Command {
      * @throws LeBookException If the search term is empty, the genre is invalid, or if any other error occurs.
      */
     @Override
-    public boolean execute(Library library, Ui ui, Storage storage, MemberManager memberManager)
+    public boolean execute(Library library, Ui ui, StorageBackend storage, MemberManager memberManager)
             throws LeBookException {
         if (searchTerm.isEmpty()) {
             throw new LeBookException("Please provide a genre to search for.");
@@ -58,10 +59,11 @@ public class SearchByGenreCommand extends Command {
 
         // --- Validate Genre FIRST ---
         if (!bookManager.isValidGenre(searchTerm)) {
-            throw new LeBookException(MESSAGE_INVALID_GENRE);
+            throw new LeBookException(MESSAGE_INVALID_GENRE
+                    + String.join(", ", GenreRegistry.getInstance().getNames()));
         }
 
-        BookFinder finder = new BookFinder(bookManager.getBooks());
+        BookFinder finder = bookManager.getBookFinder();
         List<Book> results = finder.findBooksByGenre(searchTerm); // Finder uses case-insensitive compare
 
         if (results.isEmpty()) {
@@ -74,7 +76,7 @@ public class SearchByGenreCommand extends Command {
     }
 
     @Override
-    public void undo(Library library, Ui ui, Storage storage, MemberManager memberManager) {
+    public void undo(Library library, Ui ui, StorageBackend storage, MemberManager memberManager) {
     }
 
 }
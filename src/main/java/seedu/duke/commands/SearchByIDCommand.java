@@ -6,7 +6,7 @@ import seedu.duke.book.BookManager;
 import seedu.duke.exception.LeBookException;
 import seedu.duke.library.Library;
 import seedu.duke.member.MemberManager;
-import seedu.duke.storage.Storage;
+import seedu.duke.storage.StorageBackend;
 import seedu.duke.ui.Ui;
 
 import java.util.List;
@@ -44,7 +44,7 @@ public class SearchByIDCommand extends Command {
      * @throws LeBookException If the search term is empty or if any other error occurs.
      */
     @Override
-    public boolean execute(Library library, Ui ui, Storage storage, MemberManager memberManager)
+    public boolean execute(Library library, Ui ui, StorageBackend storage, MemberManager memberManager)
             throws LeBookException {
         if (searchTerm.isEmpty()) {
             throw new LeBookException("Please provide a shelf ID to search for (e.g., AD-0-1).");
@@ -52,7 +52,7 @@ public class SearchByIDCommand extends Command {
 
 
         BookManager bookManager = library.getBookManager();
-        BookFinder finder = new BookFinder(bookManager.getBooks());
+        BookFinder finder = bookManager.getBookFinder();
         List<Book> results = finder.findBooksByShelfId(searchTerm);
 
         if (results.isEmpty()) {
@@ -65,7 +65,7 @@ public class SearchByIDCommand extends Command {
     }
 
     @Override
-    public void undo(Library library, Ui ui, Storage storage, MemberManager memberManager) {
+    public void undo(Library library, Ui ui, StorageBackend storage, MemberManager memberManager) {
     }
 
 }
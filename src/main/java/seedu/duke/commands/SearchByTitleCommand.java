@@ -6,7 +6,7 @@ import seedu.duke.book.BookManager;
 import seedu.duke.exception.LeBookException;
 import seedu.duke.library.Library;
 import seedu.duke.member.MemberManager;
-import seedu.duke.storage.Storage;
+import seedu.duke.storage.StorageBackend;
 import seedu.duke.ui.Ui;
 
 import java.util.List;
@@ -46,7 +46,7 @@ public class SearchByTitleCommand extends Command {
      * @throws LeBookException If the search term is empty or if any other error occurs.
      */
     @Override
-    public boolean execute(Library library, Ui ui, Storage storage, MemberManager memberManager)
+    public boolean execute(Library library, Ui ui, StorageBackend storage, MemberManager memberManager)
             throws LeBookException {
         // Shouldn't happen if Parser validates, but as a safeguard:
         if (searchTerm.isEmpty()) {
@@ -54,7 +54,7 @@ public class SearchByTitleCommand extends Command {
         }
 
         BookManager bookManager = library.getBookManager();
-        BookFinder finder = new BookFinder(bookManager.getBooks());
+        BookFinder finder = bookManager.getBookFinder();
         List<Book> results = finder.findBooksByTitle(searchTerm);
 
         if (results.isEmpty()) {
@@ -67,7 +67,7 @@ public class SearchByTitleCommand extends Command {
     }
 
     @Override
-    public void undo(Library library, Ui ui, Storage storage, MemberManager memberManager) {
+    public void undo(Library library, Ui ui, StorageBackend storage, MemberManager memberManager) {
     }
 
 }
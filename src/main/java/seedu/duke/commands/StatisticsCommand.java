@@ -3,7 +3,7 @@ package seedu.duke.commands;
 import seedu.duke.book.Book;
 import seedu.duke.library.Library;
 import seedu.duke.member.MemberManager;
-import seedu.duke.storage.Storage;
+import seedu.duke.storage.StorageBackend;
 import seedu.duke.ui.Ui;
 
 import java.util.List;
@@ -15,7 +15,7 @@ public class StatisticsCommand extends Command {
 
     //@@author eth4n22
     @Override
-    public boolean execute(Library library, Ui ui, Storage storage, MemberManager memberManager) {
+    public boolean execute(Library library, Ui ui, StorageBackend storage, MemberManager memberManager) {
         List<Book> books = null;
         String statistics = Library.getTheOneLibrary(books).getStatistics();
         ui.printWithSeparator(statistics);
@@ -23,7 +23,7 @@ public class StatisticsCommand extends Command {
     }
 
     @Override
-    public void undo(Library library, Ui ui, Storage storage, MemberManager memberManager) {
+    public void undo(Library library, Ui ui, StorageBackend storage, MemberManager memberManager) {
     }
 
 }
@@ -3,8 +3,9 @@ package seedu.duke.commands;
 import seedu.duke.book.Book;
 import seedu.duke.exception.LeBookException;
 import seedu.duke.library.Library;
+import seedu.duke.member.Member;
 import seedu.duke.member.MemberManager;
-import seedu.duke.storage.Storage;
+import seedu.duke.storage.StorageBackend;
 import seedu.duke.ui.Ui;
 
 import java.time.LocalDate;
@@ -19,6 +20,7 @@ public class UpdateStatusCommand extends Command {
     private final String borrowerName;
 
     //variables for undo function
+    private Book updatedBook;
     private boolean previousStatus;
     private String previousBorrowerName;
     private LocalDate previousDueDate;
@@ -30,7 +32,7 @@ public class UpdateStatusCommand extends Command {
     }
 
     @Override
-    public boolean execute(Library library, Ui ui, Storage storage, MemberManager memberManager)
+    public boolean execute(Library library, Ui ui, StorageBackend storage, MemberManager memberManager)
             throws LeBookException {
         assert library != null : "BookManager should not be null";
         assert ui != null : "Ui should not be null";
@@ -39,6 +41,7 @@ public class UpdateStatusCommand extends Command {
 
         try {
             Book book = library.getBooks().get(bookIndex);
+            updatedBook = book;
             previousStatus = book.isBorrowed();
             previousBorrowerName = book.getBorrowerName();
             previousDueDate = book.getReturnDueDate();
@@ -54,22 +57,27 @@ public class UpdateStatusCommand extends Command {
         }
 
         ui.printWithSeparator(response);
-        storage.writeToFile(library.getBooks());
+        storage.recordStatusChange(updatedBook, library.getBooks());
         return true;
     }
 
     @Override
-    public void undo(Library library, Ui ui, Storage storage, MemberManager memberManager) {
-        Book book = library.getBooks().get(bookIndex);
-        book.setStatus(previousStatus);
-        book.setBorrowerName(previousBorrowerName);
-        book.setReturnDueDate(previousDueDate);
+    public void undo(Library library, Ui ui, StorageBackend storage, MemberManager memberManager) {
+        Book book = updatedBook; // Kept rather than the index, which later deletions may have shifted
+        Member currentBorrower = book.getBorrower();
+        library.getBookManager().setBookStatus(book, previousStatus, previousDueDate, previousBorrowerName);
 
-        if (previousBorrowerName != null && !previousBorrowerName.trim().isEmpty()) {
-            memberManager.getMemberByName(previousBorrowerName).syncBorrowedBooks(library.getBooks());
+        if (currentBorrower != null) {
+            if (!previousStatus) {
+                memberManager.forgetBorrowing(currentBorrower, book); // The borrow being undone was recorded
+            }
+            currentBorrower.returnBook(book);
+        }
+        if (previousStatus && previousBorrowerName != null && !previousBorrowerName.trim().isEmpty()) {
+            memberManager.getMemberByName(previousBorrowerName).borrowBook(book);
         }
 
-        storage.writeToFile(library.getBooks());
+        storage.recordStatusChange(book, library.getBooks());
     }
 
     @Override
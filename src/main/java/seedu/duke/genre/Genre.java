@@ -0,0 +1,40 @@
+package seedu.duke.genre;
+
+/**
+ * A genre the library shelves books under, such as romance.
+ * Each genre has a name users type, a prefix that starts the IDs of its books (e.g. "R" in "R-0-1"),
+ * and an index that gives its position in the {@link GenreRegistry}.
+ */
+public final class Genre {
+    private final int index;
+    private final String name;
+    private final String idPrefix;
+
+    Genre(int index, String name, String idPrefix) {
+        this.index = index;
+        this.name = name;
+        this.idPrefix = idPrefix;
+    }
+
+    /**
+     * Returns the position of this genre in the registry, counting from 0 in the order genres were added.
+     *
+     * @return The index of the genre.
+     */
+    public int getIndex() {
+        return index;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public String getIdPrefix() {
+        return idPrefix;
+    }
+
+    @Override
+    public String toString() {
+        return name;
+    }
+}
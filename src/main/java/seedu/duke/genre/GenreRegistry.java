@@ -0,0 +1,149 @@
+package seedu.duke.genre;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Singleton list of the genres the library supports, and the one place genre names and book ID prefixes
+ * are matched. Genres are numbered in the order they are registered, so anything kept per genre can be
+ * held in a list and found by {@link Genre#getIndex()}.
+ * <p>
+ * The seven built-in genres are always registered first; more can be added from configuration.
+ */
+public class GenreRegistry {
+    private static final String ID_SEPARATOR = "-";
+
+    private static GenreRegistry genreRegistryInstance;
+    private final List<Genre> genres = new ArrayList<>();
+    private final Map<String, Genre> genresByName = new HashMap<>(); // Keyed by lower-cased name
+    private final Map<String, Genre> genresByPrefix = new HashMap<>(); // Keyed by upper-cased prefix
+
+    private GenreRegistry() {
+        register("romance", "R");
+        register("adventure", "AD");
+        register("action", "AC");
+        register("horror", "H");
+        register("mystery", "MY");
+        register("nonfiction", "NF");
+        register("scifi", "SCIF");
+    }
+
+    /**
+     * Returns the singleton instance of {@code GenreRegistry}, creating it with the built-in genres if needed.
+     *
+     * @return The singleton instance of {@code GenreRegistry}.
+     */
+    public static GenreRegistry getInstance() {
+        if (genreRegistryInstance == null) {
+            genreRegistryInstance = new GenreRegistry();
+        }
+        return genreRegistryInstance;
+    }
+
+    /**
+     * Drops any genres added since the built-in ones.
+     */
+    public static void resetGenreRegistry() {
+        genreRegistryInstance = null;
+    }
+
+    /**
+     * Adds a genre after the ones already registered.
+     *
+     * @param name     The name users type for the genre, in any case; it is stored lower-cased.
+     * @param idPrefix The prefix of the IDs of books in the genre, e.g. "R", in any case; it is stored upper-cased.
+     * @return The new genre.
+     * @throws IllegalArgumentException If the name or prefix is blank, the prefix contains "-",
+     *     or either is already used by another genre.
+     */
+    public Genre register(String name, String idPrefix) {
+        String key = name == null ? "" : name.trim().toLowerCase(Locale.ROOT);
+        String prefix = idPrefix == null ? "" : toPrefixKey(idPrefix.trim());
+        if (key.isEmpty() || prefix.isEmpty() || prefix.contains(ID_SEPARATOR)) {
+            throw new IllegalArgumentException("Invalid genre: " + name + " with ID prefix " + idPrefix);
+        }
+        if (genresByName.containsKey(key) || genresByPrefix.containsKey(prefix)) {
+            throw new IllegalArgumentException("Genre " + key + " or ID prefix " + prefix + " is already used");
+        }
+
+        Genre genre = new Genre(genres.size(), key, prefix);
+        genres.add(genre);
+        genresByName.put(key, genre);
+        genresByPrefix.put(prefix, genre);
+        return genre;
+    }
+
+    /**
+     * Returns the genre with the given name, ignoring case, or {@code null} if there is none.
+     */
+    public Genre getByName(String name) {
+        return name == null ? null : genresByName.get(name.toLowerCase(Locale.ROOT));
+    }
+
+    /**
+     * Returns the genre whose books have IDs starting with the given prefix, ignoring case,
+     * or {@code null} if there is none.
+     */
+    public Genre getByIdPrefix(String idPrefix) {
+        return idPrefix == null ? null : genresByPrefix.get(toPrefixKey(idPrefix));
+    }
+
+    /**
+     * Returns the genre named by the prefix of a {@code GENRE-shelf-slot} book ID, ignoring case.
+     *
+     * @param bookID The book ID.
+     * @return The genre, or {@code null} if the ID has no prefix or the prefix is not registered.
+     */
+    public Genre getByBookID(String bookID) {
+        if (bookID == null) {
+            return null;
+        }
+        int prefixEnd = bookID.indexOf(ID_SEPARATOR);
+        return prefixEnd < 0 ? null : genresByPrefix.get(toPrefixKey(bookID.substring(0, prefixEnd)));
+    }
+
+    private static String toPrefixKey(String idPrefix) {
+        return idPrefix.toUpperCase(Locale.ROOT);
+    }
+
+    public Genre get(int index) {
+        return genres.get(index);
+    }
+
+    public int size() {
+        return genres.size();
+    }
+
+    /**
+     * Returns a read-only view of the genres, in the order they were registered.
+     */
+    public List<Genre> getGenres() {
+        return Collections.unmodifiableList(genres);
+    }
+
+    /**
+     * Returns the names of the genres, in the order they were registered.
+     */
+    public List<String> getNames() {
+        List<String> names = new ArrayList<>();
+        for (Genre genre : genres) {
+            names.add(genre.getName());
+        }
+        return names;
+    }
+
+    /**
+     * Returns the book ID prefixes of the genres, in the order they were registered.
+     */
+    public List<String> getIdPrefixes() {
+        List<String> prefixes = new ArrayList<>();
+        for (Genre genre : genres) {
+            prefixes.add(genre.getIdPrefix());
+        }
+        return prefixes;
+    }
+}
@@ -76,9 +76,10 @@ public class Library {
     public String deleteBook(int bookIndex) {
         try {
             String bookID = catalogueManager.getBookID(bookIndex);
+            long shelfBookId = getShelfBookId(bookIndex);
             String response = catalogueManager.deleteBook(bookIndex);
             assert bookID != null;
-            shelvesManager.deleteBook(bookID);
+            shelvesManager.deleteBook(shelfBookId);
             return response;
         } catch (BookNotFoundException e) {
             return e.getMessage();
@@ -100,9 +101,10 @@ public class Library {
             GroupReturns bookIndexBookID = catalogueManager.getBookID(bookTitle, author);
             int bookIndex = bookIndexBookID.number;
             String bookID = bookIndexBookID.text;
+            long shelfBookId = getShelfBookId(bookIndex);
             String response = catalogueManager.deleteBook(bookIndex);
             assert bookID != null;
-            shelvesManager.deleteBook(bookID);
+            shelvesManager.deleteBook(shelfBookId);
             return response;
         } catch (BookNotFoundException e) {
             return e.getMessage();
@@ -120,15 +122,23 @@ public class Library {
     public String deleteBook(String bookID) {
         try {
             int bookIndex = catalogueManager.getBookIndex(bookID);
+            long shelfBookId = getShelfBookId(bookIndex);
             String response = catalogueManager.deleteBook(bookIndex);
             assert bookID != null;
-            shelvesManager.deleteBook(bookID);
+            shelvesManager.deleteBook(shelfBookId);
             return response;
         } catch (BookNotFoundException e) {
             return e.getMessage();
         }
     }
 
+    /**
+     * Returns the packed ID the shelves know a book by, read before the book leaves the catalogue.
+     */
+    private long getShelfBookId(int bookIndex) {
+        return catalogueManager.getBooks().get(bookIndex).getId();
+    }
+
     //@@author
 
     public String updateBookStatus(String command, int bookIndex, String borrowerName, MemberManager memberManager) {
@@ -154,40 +164,30 @@ public class Library {
     }
 
     public Book getBookByTitleAndAuthor(String title, String author) {
-        for (Book book : getBooks()) {
-            if (book.getTitle().equals(title) && book.getAuthor().equals(author)) {
-                return book;
-            }
-        }
-        return null;
+        List<Book> copies = catalogueManager.getCopies(title, author);
+        return copies.isEmpty() ? null : copies.get(0);
     }
 
     public int getLastAddedBookIndex(String title, String author) {
-        List<Book> books = getBooks();
-        for (int i = books.size() - 1; i >= 0; i--) { // reverse loop
-            Book book = books.get(i);
-            if (book.getTitle().equals(title) && book.getAuthor().equals(author)) {
-                return i;
-            }
-        }
-        return -1; // if not found
+        List<Book> copies = catalogueManager.getCopies(title, author);
+        return copies.isEmpty() ? -1 : catalogueManager.indexOf(copies.get(copies.size() - 1));
     }
 
     public Book getBookByID(String bookID) {
-        for (Book book : getBooks()) {
-            if (book.getBookID().equals(bookID)) {
-                return book;
-            }
-        }
-        return null;
+        return catalogueManager.getBookByID(bookID);
     }
 
+    /**
+     * Puts a deleted book back into the catalogue and into the shelf slot its ID names.
+     *
+     * @param book The book to restore.
+     */
     public void restoreBook(Book book) {
         if (book == null) {
             return;
         }
-        getBooks().add(book);
-        shelvesManager.addBook(book.getTitle(), book.getAuthor(), book.getBookID());
+        catalogueManager.restoreBook(book);
+        shelvesManager.restoreBook(book.getId(), book.getTitle(), book.getAuthor());
     }
 
     //for testing
@@ -4,23 +4,43 @@ package seedu.duke.member;
 import seedu.duke.book.Book;
 
 import java.util.ArrayList;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Set;
 
 /**
  * Represents a library member who can borrow and return books.
  */
 public class Member {
+    private final int id;
     private final String name;
-    private final List<Book> borrowedBooks;
+    private final Set<Book> borrowedBooks; // Book uses identity equality, so copies are told apart
+    private final List<String> borrowingHistory;
 
     /**
-     * Constructs a Member with the specified name.
+     * Constructs a Member with the specified name and no member ID.
      *
      * @param name The name of the member.
      */
     public Member(String name) {
+        this(0, name);
+    }
+
+    /**
+     * Constructs a Member with the specified member ID and name.
+     *
+     * @param id   The member ID, unique within the library.
+     * @param name The name of the member.
+     */
+    public Member(int id, String name) {
+        this.id = id;
         this.name = name;
-        this.borrowedBooks = new ArrayList<>();
+        this.borrowedBooks = new LinkedHashSet<>();
+        this.borrowingHistory = new ArrayList<>();
+    }
+
+    public int getId() {
+        return id;
     }
 
     public String getName() {
@@ -28,21 +48,72 @@ public class Member {
     }
 
     /**
-     * Adds a book to the list of books borrowed by the member.
+     * Returns the IDs of every book the member has borrowed, oldest first.
+     *
+     * @return A copy of the member's borrowing history.
+     */
+    public List<String> getBorrowingHistory() {
+        return new ArrayList<>(borrowingHistory);
+    }
+
+    /**
+     * Adds a book to the member's borrowing history.
+     *
+     * @param bookID The ID of the borrowed book.
+     */
+    public void recordBorrowing(String bookID) {
+        borrowingHistory.add(bookID);
+    }
+
+    /**
+     * Replaces the member's borrowing history with a stored copy of it.
+     *
+     * @param bookIDs The IDs of the books the member has borrowed, oldest first.
+     */
+    void replaceBorrowingHistory(List<String> bookIDs) {
+        borrowingHistory.clear();
+        borrowingHistory.addAll(bookIDs);
+    }
+
+    /**
+     * Removes the latest entry for a book from the member's borrowing history, e.g. when a borrow is undone.
+     *
+     * @param bookID The ID of the book.
+     * @return {@code true} if an entry was removed.
+     */
+    public boolean removeBorrowing(String bookID) {
+        int index = borrowingHistory.lastIndexOf(bookID);
+        if (index < 0) {
+            return false;
+        }
+        borrowingHistory.remove(index);
+        return true;
+    }
+
+    /**
+     * Adds a book to the books borrowed by the member and records the member as the book's borrower.
+     * A book held by another member is taken off that member's books first.
      *
      * @param book The book to be borrowed.
      */
     public void borrowBook(Book book) {
+        Member previousBorrower = book.getBorrower();
+        if (previousBorrower != null && previousBorrower != this) {
+            previousBorrower.returnBook(book);
+        }
         borrowedBooks.add(book);
+        book.setBorrower(this);
     }
 
     /**
-     * Removes a book from the list of books borrowed by the member.
+     * Removes a book from the books borrowed by the member.
      *
      * @param book The book to be returned.
      */
     public void returnBook(Book book) {
-        borrowedBooks.remove(book);
+        if (borrowedBooks.remove(book)) {
+            book.setBorrower(null);
+        }
     }
 
     /**
@@ -61,10 +132,12 @@ public class Member {
     }
 
     public void syncBorrowedBooks(List<Book> allBooks) {
-        borrowedBooks.clear();
+        for (Book book : new ArrayList<>(borrowedBooks)) {
+            returnBook(book);
+        }
         for (Book book : allBooks) {
             if (book.isBorrowed() && this.name.equalsIgnoreCase(book.getBorrowerName())) {
-                borrowedBooks.add(book);
+                borrowBook(book);
             }
         }
     }
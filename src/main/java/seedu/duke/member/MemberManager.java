@@ -4,15 +4,26 @@ package seedu.duke.member;
 import seedu.duke.book.Book;
 
 import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
 
 /**
  * Singleton class that manages the list of library members.
  * Provides functionality to retrieve members by name, list overdue books of members, and manage the member list.
  */
 public class MemberManager {
+    private static final int FIRST_MEMBER_ID = 1;
+
     private static MemberManager memberManagerInstance;
     private final List<Member> members;
+    private final Map<String, Member> membersByName = new HashMap<>(); // Keyed by case-folded name
+    private final Map<Integer, Member> membersById = new HashMap<>();
+    private final Set<Member> unsavedMembers = new LinkedHashSet<>(); // Member uses identity equality
+    private int nextMemberId = FIRST_MEMBER_ID;
 
     /**
      * Private constructor to enforce singleton pattern.
@@ -45,23 +56,110 @@ public class MemberManager {
     }
 
     /**
-     * Retrieves a member by name from the list of members.
+     * Retrieves a member by name, ignoring case, from the name index.
      * If the member does not exist, a new member is created and added to the list.
      *
      * @param name The name of the member to retrieve.
      * @return The existing or newly created member.
      */
     public Member getMemberByName(String name) {
-        for (Member member : members) {
-            if (member.getName().equalsIgnoreCase(name)) {
-                return member;
-            }
+        Member member = membersByName.get(toNameKey(name));
+        if (member != null) {
+            return member;
         }
-        Member newMember = new Member(name);
-        members.add(newMember);
+        Member newMember = new Member(nextMemberId++, name);
+        register(newMember);
+        unsavedMembers.add(newMember);
         return newMember;
     }
 
+    /**
+     * Retrieves a member by member ID.
+     *
+     * @param id The member ID.
+     * @return The member, or {@code null} if no member has that ID.
+     */
+    public Member getMemberById(int id) {
+        return membersById.get(id);
+    }
+
+    /**
+     * Adds a member read from storage, keeping its member ID.
+     * Members created later are given IDs above every ID added this way.
+     *
+     * @param member The member to add.
+     */
+    public void addMember(Member member) {
+        register(member);
+        nextMemberId = Math.max(nextMemberId, member.getId() + 1);
+    }
+
+    /**
+     * Applies a stored record of a member, as when replaying a journal written after the member store.
+     * The member with that ID, if there is one, has its borrowing history replaced; otherwise the member is added.
+     * The member is not marked as unsaved, since the record it came from is already stored.
+     *
+     * @param id      The member ID.
+     * @param name    The name of the member.
+     * @param history The IDs of the books the member has borrowed, oldest first.
+     */
+    public void restoreMember(int id, String name, List<String> history) {
+        Member member = membersById.get(id);
+        if (member == null) {
+            member = new Member(id, name);
+            addMember(member);
+        }
+        member.replaceBorrowingHistory(history);
+    }
+
+    /**
+     * Adds a book to a member's borrowing history.
+     *
+     * @param member The member who borrowed the book.
+     * @param book   The borrowed book.
+     */
+    public void recordBorrowing(Member member, Book book) {
+        member.recordBorrowing(book.getBookID());
+        unsavedMembers.add(member);
+    }
+
+    /**
+     * Removes the latest borrowing of a book from a member's history, undoing {@link #recordBorrowing}.
+     *
+     * @param member The member who borrowed the book.
+     * @param book   The borrowed book.
+     */
+    public void forgetBorrowing(Member member, Book book) {
+        if (member.removeBorrowing(book.getBookID())) {
+            unsavedMembers.add(member);
+        }
+    }
+
+    /**
+     * Returns whether members have been added or changed since they were last saved.
+     *
+     * @return {@code true} if the member store needs to be written.
+     */
+    public boolean hasUnsavedChanges() {
+        return !unsavedMembers.isEmpty();
+    }
+
+    /**
+     * Returns the members added or changed since they were last saved, so only their records need writing.
+     *
+     * @return The unsaved members, in the order they were first changed.
+     */
+    public List<Member> getUnsavedMembers() {
+        return new ArrayList<>(unsavedMembers);
+    }
+
+    /**
+     * Notes that every member has been saved.
+     */
+    public void markSaved() {
+        unsavedMembers.clear();
+    }
+
     /**
      * Builds a formatted list of a member's overdue books.
      *
@@ -107,7 +205,28 @@ public class MemberManager {
         return hasOverdueMembers ? resultBuilder.toString() : "No members have overdue books.";
     }
 
+    /**
+     * Adds a member to the list and the indexes. If two members share a name, lookups by name find the
+     * first one, as a scan of the list would.
+     */
+    private void register(Member member) {
+        members.add(member);
+        membersByName.putIfAbsent(toNameKey(member.getName()), member);
+        membersById.putIfAbsent(member.getId(), member);
+    }
+
+    /**
+     * Folds a name so that names equal ignoring case share a key, matching {@link String#equalsIgnoreCase}.
+     */
+    private static String toNameKey(String name) {
+        return name.toUpperCase(Locale.ROOT).toLowerCase(Locale.ROOT);
+    }
+
     public void cleanup() {
         members.clear();
+        membersByName.clear();
+        membersById.clear();
+        nextMemberId = FIRST_MEMBER_ID;
+        unsavedMembers.clear();
     }
 }
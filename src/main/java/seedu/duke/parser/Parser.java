@@ -1,5 +1,6 @@
 package seedu.duke.parser;
 
+import seedu.duke.book.BookId;
 import seedu.duke.commands.AddCommand;
 import seedu.duke.commands.Command;
 import seedu.duke.commands.DeleteByIndexCommand;
@@ -21,10 +22,8 @@ import seedu.duke.commands.ListBookQuantityCommand;
 import seedu.duke.commands.StatisticsCommand;
 import seedu.duke.commands.UndoCommand;
 import seedu.duke.exception.LeBookException;
+import seedu.duke.genre.GenreRegistry;
 
-import java.util.Arrays;
-import java.util.HashSet;
-import java.util.Set;
 import java.math.BigInteger;
 
 /**
@@ -59,8 +58,6 @@ public class Parser {
     private static final int MIN_PARTS_TWO = 2;
     private static final int MIN_PARTS_THREE = 3;
 
-    private static final Set<String> GENRES = new HashSet<>(Arrays.asList("R", "AC", "H", "MY", "NF", "AD", "SCIF"));
-
     //@@author jenmarieng
 
     /**
@@ -223,15 +220,16 @@ public class Parser {
             return new DeleteByBookCommand(bookTitle, authorName);
         case DELETE_BY_ID:
             String bookID = parts[1].trim();
-            String[] bookIDSplit = bookID.split("-");
-            if (bookIDSplit.length < MIN_PARTS_THREE) {
+            long bookId = BookId.parse(bookID);
+            if (bookId == BookId.NONE) {
+                GenreRegistry genreRegistry = GenreRegistry.getInstance();
+                if (bookID.indexOf('-') > 0 && genreRegistry.getByBookID(bookID) == null) {
+                    throw new LeBookException("Invalid genre. Supported genres: "
+                            + String.join(", ", genreRegistry.getIdPrefixes()) + ".");
+                }
                 throw new LeBookException("Invalid format. It should be: delete id/GENRE-SHELFNUM-SLOTNUM, e.g R-0-0");
             }
-            String genre = bookIDSplit[0].trim();
-            if (!GENRES.contains(genre)) {
-                throw new LeBookException("Invalid genre. Supported genres: R, AC, H, MY, NF, AD, SCIF.");
-            }
-            return new DeleteByIDCommand(bookID);
+            return new DeleteByIDCommand(BookId.toString(bookId)); // Written as stored, e.g. "r-00-1" as "R-0-1"
         default:
             throw new LeBookException("Invalid format. It should be: delete bk/BOOK_TITLE/AUTHOR_NAME "
                     + "or delete num/BOOK_INDEX or delete id/GENRE-SHELFNUM-SLOTNUM");
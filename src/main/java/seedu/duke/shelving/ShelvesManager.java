@@ -1,61 +1,55 @@
 package seedu.duke.shelving;
 
+import seedu.duke.book.BookId;
 import seedu.duke.exception.NoSuchSectionException;
-import seedu.duke.shelving.shelves.ActionShelves;
-import seedu.duke.shelving.shelves.AdventureShelves;
-import seedu.duke.shelving.shelves.HorrorShelves;
-import seedu.duke.shelving.shelves.MysteryShelves;
-import seedu.duke.shelving.shelves.NonFictionShelves;
-import seedu.duke.shelving.shelves.RomanceShelves;
-import seedu.duke.shelving.shelves.SciFiShelves;
+import seedu.duke.genre.Genre;
+import seedu.duke.genre.GenreRegistry;
+import seedu.duke.shelving.shelves.Shelf;
+import seedu.duke.shelving.shelves.Shelves;
 import seedu.duke.exception.SectionFullException;
 
+import java.util.ArrayList;
+import java.util.List;
 
+
+/**
+ * Singleton that keeps a section of shelves for every genre in the {@link GenreRegistry}.
+ * Sections are held in a list indexed by {@link Genre#getIndex()}, so finding a genre's shelves is one lookup.
+ */
 public class ShelvesManager {
     private static ShelvesManager shelvesManagerInstance;
+    private static int shelvesPerGenre = Shelves.MAX_SHELVES_PER_GENRE;
+    private static int slotsPerShelf = Shelf.MAX_BOOKS_ON_SHELF;
+    private static int maxShelvesPerGenre = Shelves.MAX_SHELVES_PER_GENRE;
 
-    private static final int MAX_SHELVES_PER_GENRE = 5;
-
-    private static final String ROMANCE = "romance";
-    private static final String ADVENTURE = "adventure";
-    private static final String ACTION = "action";
-    private static final String HORROR = "horror";
-    private static final String MYSTERY = "mystery";
-    private static final String NONFICTION = "nonfiction";
-    private static final String SCIFI = "scifi";
-
-    //@@author Deanson-Choo
-    private static final String ROMANCE_ID = "R";
-    private static final String ADVENTURE_ID = "AD";
-    private static final String ACTION_ID = "AC";
-    private static final String HORROR_ID = "H";
-    private static final String MYSTERY_ID = "MY";
-    private static final String NONFICTION_ID = "NF";
-    private static final String SCIFI_ID = "SCIF";
-    //@@author
-    private final RomanceShelves romanceShelves;
-    private final AdventureShelves adventureShelves;
-    private final ActionShelves actionShelves;
-    private final HorrorShelves horrorShelves;
-    private final MysteryShelves mysteryShelves;
-    private final NonFictionShelves nonFictionShelves;
-    private final SciFiShelves sciFiShelves;
-
-
+    private final GenreRegistry genreRegistry = GenreRegistry.getInstance();
+    private final List<Shelves> sections = new ArrayList<>();
 
     //@@author WayneCh0y
     /**
-     * Private constructor to initialize the shelves for different genres.
-     * Initializes shelves for Romance, Adventure, Action, Horror, Mystery, Non-Fiction, and Sci-Fi genres.
+     * Private constructor to initialize the shelves for every registered genre.
      */
     private ShelvesManager() {
-        romanceShelves = new RomanceShelves();
-        adventureShelves = new AdventureShelves();
-        actionShelves = new ActionShelves();
-        horrorShelves = new HorrorShelves();
-        mysteryShelves = new MysteryShelves();
-        nonFictionShelves = new NonFictionShelves();
-        sciFiShelves = new SciFiShelves();
+        for (Genre genre : genreRegistry.getGenres()) {
+            getSection(genre);
+        }
+    }
+
+    /**
+     * Sets the size of the shelves used the next time the shelves are created.
+     * A genre whose shelves are all full adds a shelf until it has {@code maxShelfCount} of them.
+     * Books already shelved keep their IDs, as shelves are only ever added after the existing ones.
+     *
+     * @param shelfCount     The number of shelves each genre starts with.
+     * @param slotsOnShelf   The number of books each shelf holds.
+     * @param maxShelfCount  The most shelves a genre may grow to; {@code shelfCount} turns growth off.
+     */
+    public static void configure(int shelfCount, int slotsOnShelf, int maxShelfCount) {
+        assert shelfCount > 0 && slotsOnShelf > 0 : "Shelves must hold at least one book";
+        assert maxShelfCount >= shelfCount : "A genre cannot start with more shelves than its maximum";
+        shelvesPerGenre = shelfCount;
+        slotsPerShelf = slotsOnShelf;
+        maxShelvesPerGenre = maxShelfCount;
     }
 
     //@@author WayneCh0y
@@ -84,25 +78,12 @@ public class ShelvesManager {
      * @throws NoSuchSectionException If the specified section does not exist.
      */
     public String listShelf(String shelfGenre, int index) {
+        Shelves section = getSectionByGenre(shelfGenre);
+        if (section == null) {
+            return "Invalid command! try <shelf> / <genre> / <shelf number>";
+        }
         try {
-            switch (shelfGenre) {
-            case ROMANCE:
-                return romanceShelves.listShelf(index);
-            case ADVENTURE:
-                return adventureShelves.listShelf(index);
-            case ACTION:
-                return actionShelves.listShelf(index);
-            case HORROR:
-                return horrorShelves.listShelf(index);
-            case MYSTERY:
-                return mysteryShelves.listShelf(index);
-            case NONFICTION:
-                return nonFictionShelves.listShelf(index);
-            case SCIFI:
-                return sciFiShelves.listShelf(index);
-            default:
-                return "Invalid command! try <shelf> / <genre> / <shelf number>";
-            }
+            return section.listShelf(index);
         } catch (SectionFullException | NoSuchSectionException e) {
             return e.getMessage();
         }
@@ -122,25 +103,12 @@ public class ShelvesManager {
      *         If there is an exception, it returns a default message "Added" or the exception message.
      */
     public String addBook(String title, String author, String genre) {
+        Shelves section = getSectionByGenre(genre);
+        if (section == null) {
+            return "";
+        }
         try {
-            switch (genre) {
-            case ROMANCE:
-                return romanceShelves.addBookToSection(title, author);
-            case ADVENTURE:
-                return adventureShelves.addBookToSection(title, author);
-            case ACTION:
-                return actionShelves.addBookToSection(title, author);
-            case HORROR:
-                return horrorShelves.addBookToSection(title, author);
-            case MYSTERY:
-                return mysteryShelves.addBookToSection(title, author);
-            case NONFICTION:
-                return nonFictionShelves.addBookToSection(title, author);
-            case SCIFI:
-                return sciFiShelves.addBookToSection(title, author);
-            default:
-                return "";
-            }
+            return section.addBookToSection(title, author);
         } catch (SectionFullException e) {
             return e.getMessage();
         }
@@ -150,83 +118,93 @@ public class ShelvesManager {
     //@@author Deanson-Choo
     /**
      * 'Deletes' a book from the appropriate shelf using its unique book ID.
-     * Book is replaced with a dummy book
+     * The book's slot is freed for the next book added
      * <p>
-     * The book ID is expected to follow the format {@code GENRE-ID-SLOT}, e.g., {@code R-0-1}.
-     * This method extracts the shelf genre ID, shelf number, and slot number from the book ID,
-     * and delegates the deletion to the corresponding shelf section.
+     * The genre, shelf number and slot number are read straight from the packed ID,
+     * and the deletion is delegated to the corresponding shelf section.
+     *
+     * @param bookId The packed ID of the book to delete, see {@link BookId}.
+     */
+    public void deleteBook(long bookId){
+        Shelves section = getSectionByID(bookId);
+        if (section != null) {
+            section.deleteBookFromSection(BookId.getShelf(bookId), BookId.getSlot(bookId));
+        }
+    }
+
+    /**
+     * Puts a book into the slot named by its book ID, so the ID stays correct.
+     * Used when a deleted book is put back and when saved books are loaded.
+     *
+     * @param bookId The packed ID the book had, see {@link BookId}.
+     * @param title  The title of the book.
+     * @param author The author of the book.
+     * @return {@code true} if the book was put in that slot, or {@code false} if the ID names no free slot.
+     */
+    public boolean restoreBook(long bookId, String title, String author) {
+        Shelves section = getSectionByID(bookId);
+        if (section == null) {
+            return false;
+        }
+        return section.restoreBookToSection(BookId.getShelf(bookId), BookId.getSlot(bookId), title, author);
+    }
+
+    /**
+     * Returns the number of books a genre's shelves can hold at the moment.
+     * A genre that grows holds more once its shelves fill up.
      *
-     * @param bookID The unique ID of the book to delete, in the format {@code GENRE-ID-SLOT}.
+     * @param genre The genre, e.g. "romance".
+     * @return The number of slots across the genre's shelves, or 0 if the genre is invalid.
+     */
+    public int getCapacity(String genre) {
+        Shelves section = getSectionByGenre(genre);
+        return section == null ? 0 : section.getShelfCount() * section.getSlotsPerShelf();
+    }
+
+    public int getSlotsPerShelf() {
+        return slotsPerShelf;
+    }
+
+    /**
+     * Returns the section of shelves for a genre such as {@code romance}, or {@code null} if there is none.
      */
-    public void deleteBook(String bookID){
-        String[] parts = bookID.split("-");
-        String shelfID = parts[0];
-        assert shelfID != null;
-        int shelfNum = Integer.parseInt(parts[1]);
-        assert shelfNum >= 0 && shelfNum < MAX_SHELVES_PER_GENRE;
-        int slotNum = Integer.parseInt(parts[2]);
-        assert slotNum >= 0;
-        switch (shelfID) {
-        case ROMANCE_ID:
-            romanceShelves.deleteBookFromSection(shelfNum, slotNum);
-            break;
-        case ADVENTURE_ID:
-            adventureShelves.deleteBookFromSection(shelfNum, slotNum);
-            break;
-        case ACTION_ID:
-            actionShelves.deleteBookFromSection(shelfNum, slotNum);
-            break;
-        case HORROR_ID:
-            horrorShelves.deleteBookFromSection(shelfNum, slotNum);
-            break;
-        case MYSTERY_ID:
-            mysteryShelves.deleteBookFromSection(shelfNum, slotNum);
-            break;
-        case NONFICTION_ID:
-            nonFictionShelves.deleteBookFromSection(shelfNum, slotNum);
-            break;
-        case SCIFI_ID:
-            sciFiShelves.deleteBookFromSection(shelfNum, slotNum);
-            break;
-        default:
-            break;
+    private Shelves getSectionByGenre(String genre) {
+        Genre registeredGenre = genreRegistry.getByName(genre);
+        return registeredGenre == null ? null : getSection(registeredGenre);
+    }
+
+    /**
+     * Returns the section of shelves for the genre of a packed book ID, or {@code null} if there is none.
+     */
+    private Shelves getSectionByID(long bookId) {
+        Genre genre = BookId.getGenre(bookId);
+        return genre == null ? null : getSection(genre);
+    }
+
+    /**
+     * Returns a genre's section of shelves, creating the sections of any genres registered since the last call.
+     */
+    private Shelves getSection(Genre genre) {
+        while (sections.size() <= genre.getIndex()) {
+            Genre next = genreRegistry.get(sections.size());
+            sections.add(new Shelves(next.getIdPrefix(), shelvesPerGenre, slotsPerShelf, maxShelvesPerGenre));
         }
+        return sections.get(genre.getIndex());
     }
 
     //@@author WayneCh0y
     public String getBookId(String genre) {
-        switch (genre) {
-        case ROMANCE:
-            return romanceShelves.getBookID();
-        case ADVENTURE:
-            return adventureShelves.getBookID();
-        case ACTION:
-            return actionShelves.getBookID();
-        case HORROR:
-            return horrorShelves.getBookID();
-        case MYSTERY:
-            return mysteryShelves.getBookID();
-        case NONFICTION:
-            return nonFictionShelves.getBookID();
-        case SCIFI:
-            return sciFiShelves.getBookID();
-        default:
-            break;
-        }
-        return "No Book ID found!";
+        Shelves section = getSectionByGenre(genre);
+        return section == null ? "No Book ID found!" : section.getBookID();
     }
 
     /**
      * Clears the shelves.
      */
     public void cleanup() {
-        romanceShelves.cleanup();
-        adventureShelves.cleanup();
-        actionShelves.cleanup();
-        horrorShelves.cleanup();
-        mysteryShelves.cleanup();
-        nonFictionShelves.cleanup();
-        sciFiShelves.cleanup();
+        for (Shelves section : sections) {
+            section.cleanup();
+        }
 
         shelvesManagerInstance = null;
     }
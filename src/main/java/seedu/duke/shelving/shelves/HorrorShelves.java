@@ -1,8 +0,0 @@
-//@@author Deanson-Choo
-package seedu.duke.shelving.shelves;
-
-public class HorrorShelves extends Shelves {
-    public HorrorShelves() {
-        super("H");
-    }
-}
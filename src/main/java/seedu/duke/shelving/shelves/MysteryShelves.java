@@ -1,8 +0,0 @@
-//@@author Deanson-Choo
-package seedu.duke.shelving.shelves;
-
-public class MysteryShelves extends Shelves {
-    public MysteryShelves() {
-        super("MY");
-    }
-}
@@ -1,8 +0,0 @@
-//@@author Deanson-Choo
-package seedu.duke.shelving.shelves;
-
-public class NonFictionShelves extends Shelves{
-    public NonFictionShelves() {
-        super("NF");
-    }
-}
@@ -1,43 +1,35 @@
 package seedu.duke.shelving.shelves;
 
 import seedu.duke.book.Book;
+import seedu.duke.book.BookId;
+import seedu.duke.genre.Genre;
+import seedu.duke.genre.GenreRegistry;
 
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
 import java.util.List;
 import java.util.stream.Collectors;
 import java.util.stream.IntStream;
 
 /**
- * Represents a single shelf in a library section, capable of storing up to {@value #MAX_BOOKS_ON_SHELF} books.
+ * Represents a single shelf in a library section, capable of storing {@value #MAX_BOOKS_ON_SHELF} books by default.
  * Each shelf is identified by a genre and index (e.g., "FIC-1" for Fiction Shelf 1) and manages its own collection
  * of {@link Book} objects.
+ * <p>
+ * Books sit in fixed slots, and a bitset records which slots are taken, so the next free slot is found with
+ * {@link BitSet#nextClearBit(int)} and a deleted book simply frees its slot.
  */
 public class Shelf {
-    private static final String ROMANCE = "romance";
-    private static final String ADVENTURE = "adventure";
-    private static final String ACTION = "action";
-    private static final String HORROR = "horror";
-    private static final String MYSTERY = "mystery";
-    private static final String NONFICTION = "nonfiction";
-    private static final String SCIFI = "scifi";
-    //@@author Deanson-Choo
-    private static final String ROMANCE_ID = "R";
-    private static final String ADVENTURE_ID = "AD";
-    private static final String ACTION_ID = "AC";
-    private static final String HORROR_ID = "H";
-    private static final String MYSTERY_ID = "MY";
-    private static final String NONFICTION_ID = "NF";
-    private static final String SCIFI_ID = "SCIF";
-    //@@author
-    private static final int MAX_BOOKS_ON_SHELF = 100;
-    private static final String DUMMYNAME = "duMmY";
-    private final List<Book> shelfBooks = new ArrayList<>();
+    public static final int MAX_BOOKS_ON_SHELF = 100;
+    private final Book[] shelfBooks;
+    private final BitSet occupiedSlots;
 
     private final int shelfIndex;
     private final String shelfGenre;
+    private final Genre genre; // The registered genre of shelfGenre, or null for an unregistered one
 
     private int booksCurrentlyOnShelf = 0;
-    private boolean isShelfFull;
 
     /**
      * Constructs a new empty shelf with the given index and genre.
@@ -46,15 +38,22 @@ public class Shelf {
      * @param shelfGenre The genre/category identifier (e.g., "FIC").
      */
     public Shelf(int shelfIndex, String shelfGenre) {
-        this.shelfIndex = shelfIndex;
-        this.shelfGenre = shelfGenre;
+        this(shelfIndex, shelfGenre, MAX_BOOKS_ON_SHELF);
     }
 
     /**
-     * Marks this shelf as full (when {@code booksCurrentlyOnShelf == MAX_BOOKS_ON_SHELF}).
+     * Constructs a new empty shelf with the given index, genre and number of slots.
+     *
+     * @param shelfIndex The positional index of this shelf.
+     * @param shelfGenre The genre/category identifier (e.g., "FIC").
+     * @param capacity   The number of books the shelf holds.
      */
-    private void setShelfAsFull() {
-        isShelfFull = true;
+    public Shelf(int shelfIndex, String shelfGenre, int capacity) {
+        this.shelfIndex = shelfIndex;
+        this.shelfGenre = shelfGenre;
+        this.genre = GenreRegistry.getInstance().getByIdPrefix(shelfGenre);
+        this.shelfBooks = new Book[capacity];
+        this.occupiedSlots = new BitSet(capacity);
     }
 
     //@@author WayneCh0y
@@ -75,85 +74,71 @@ public class Shelf {
 
     //@@author WayneCh0y
     private String getBackGenre() {
-        switch (this.shelfGenre) {
-        case ROMANCE_ID:
-            return ROMANCE;
-        case ADVENTURE_ID:
-            return ADVENTURE;
-        case ACTION_ID:
-            return ACTION;
-        case HORROR_ID:
-            return HORROR;
-        case MYSTERY_ID:
-            return MYSTERY;
-        case NONFICTION_ID:
-            return NONFICTION;
-        case SCIFI_ID:
-            return SCIFI;
-        default:
-            return "No such genre!";
-        }
+        return genre == null ? "No such genre!" : genre.getName();
     }
 
     //@@author WayneCh0y
     /**
-     * Finds the next suitable index for adding a book, either by locating a "duMmY" placeholder
-     * or using the current book count.
+     * Finds the lowest free slot, which is where the next book is added.
      *
-     * @return The index for the new book.
+     * @return The index for the new book, or the capacity if the shelf is full.
      */
     private int getSuitableIndex() {
-        int index = 0;
-        for (Book book : shelfBooks) {
-            if (book.getTitle().equals(DUMMYNAME)) {
-                this.shelfBooks.remove(index);
-                return index;
-            }
-            index++;
-        }
-        return booksCurrentlyOnShelf;
+        return occupiedSlots.nextClearBit(0);
     }
 
     /**
      * Checks if this shelf is full.
      *
-     * @return {@code true} if the shelf has reached {@value #MAX_BOOKS_ON_SHELF} books, {@code false} otherwise.
+     * @return {@code true} if the shelf has reached its capacity, {@code false} otherwise.
      */
     public boolean isFull() {
-        return isShelfFull;
+        return booksCurrentlyOnShelf == shelfBooks.length;
+    }
+
+    /**
+     * Checks if a slot exists on this shelf and has no book in it.
+     *
+     * @param slotNum The slot to check.
+     * @return {@code true} if a book can be put in the slot.
+     */
+    public boolean isSlotFree(int slotNum) {
+        return slotNum >= 0 && slotNum < shelfBooks.length && !occupiedSlots.get(slotNum);
     }
 
     /**
      * Gets the current number of books on this shelf.
      *
-     * @return The count of books (0–{@value #MAX_BOOKS_ON_SHELF}).
+     * @return The count of books, from 0 to the capacity.
      */
     public int getBooksCurrentlyOnShelf() {
         return booksCurrentlyOnShelf;
     }
 
     /**
-     * Gets the list of books on this shelf.
+     * Gets the list of books on this shelf, in slot order.
      *
      * @return An unmodifiable {@link List} of {@link Book} objects.
      */
     public List<Book> getShelfBooks() {
-        return shelfBooks;
+        List<Book> books = new ArrayList<>(booksCurrentlyOnShelf);
+        for (int slot = occupiedSlots.nextSetBit(0); slot >= 0; slot = occupiedSlots.nextSetBit(slot + 1)) {
+            books.add(shelfBooks[slot]);
+        }
+        return List.copyOf(books);
     }
 
     //@@author WayneCh0y
     /**
-     * Lists all books currently on the shelf, excluding books where the author's name is "duMmY".
+     * Lists all books currently on the shelf, in slot order.
      *
-     * <p>If the shelf is empty, it returns a message indicating no books are available.
-     * If all books have the author "duMmY", it returns an empty string.</p>
+     * <p>If the shelf is empty, it returns a message indicating no books are available.</p>
      *
-     * @return A formatted string listing all books on the shelf, one per line,
-     *         excluding books with the author "duMmY". If the shelf is empty,
-     *         returns "No books on shelf".
+     * @return A formatted string listing all books on the shelf, one per line.
+     *         If the shelf is empty, returns "There are no books on this shelf!".
      */
     public String listShelf() {
-        if (booksCurrentlyOnShelf == MAX_BOOKS_ON_SHELF) {
+        if (isFull()) {
             return "No books on shelf";
         }
 
@@ -167,9 +152,7 @@ public class Shelf {
             return "No books on shelf";
         }
 
-        List<Book> validBooks = shelfBooks.stream()
-                .filter(book -> !book.getAuthor().equalsIgnoreCase(DUMMYNAME))
-                .toList();
+        List<Book> validBooks = getShelfBooks();
 
         if (validBooks.isEmpty()) {
             return "No books on shelf";
@@ -183,11 +166,22 @@ public class Shelf {
 
     //@@author WayneCh0y
     public String addBookToShelf(String title, String author) {
-        if (isShelfFull) {
+        return addBookToSlot(title, author, getSuitableIndex());
+    }
+
+    /**
+     * Adds a book to a particular slot, as when a deleted book is put back where it was.
+     *
+     * @param title   The title of the book.
+     * @param author  The author of the book.
+     * @param slotNum The slot to put the book in.
+     * @return A message with the number of books now on the shelf, or why the book was not added.
+     */
+    public String addBookToSlot(String title, String author, int slotNum) {
+        if (isFull()) {
             return "The shelf is full!";
         }
 
-
         if (title.isEmpty()) {
             return "Book title cannot be empty!";
         }
@@ -196,16 +190,19 @@ public class Shelf {
             return "Book author cannot be empty!";
         }
 
-        Book newBook = new Book(title, author);
-        int bookIndex = getSuitableIndex();
-        String identifier = getShelfIdentifier(bookIndex);
-        newBook.setBookID(identifier);
-        this.shelfBooks.add(bookIndex, newBook);
-        booksCurrentlyOnShelf += 1;
+        if (!isSlotFree(slotNum)) {
+            return "Slot " + getShelfIdentifier(slotNum) + " is not free!";
+        }
 
-        if (booksCurrentlyOnShelf == MAX_BOOKS_ON_SHELF) {
-            setShelfAsFull();
+        Book newBook = new Book(title, author);
+        if (genre != null) {
+            newBook.setBookID(BookId.of(genre.getIndex(), shelfIndex, slotNum));
+        } else {
+            newBook.setBookID(getShelfIdentifier(slotNum));
         }
+        shelfBooks[slotNum] = newBook;
+        occupiedSlots.set(slotNum);
+        booksCurrentlyOnShelf += 1;
 
         return "\nNow you have " + booksCurrentlyOnShelf
                 + " books on the Shelf: " + getShelfNumber();
@@ -215,26 +212,19 @@ public class Shelf {
     /**
      * Deletes a book from the shelf at the specified slot number.
      * <p>
-     * This method replaces the book at the given slot with a placeholder book titled "duMmy"
+     * This method frees the given slot for the next book added
      * and decreases the count of books currently on the shelf.
      */
     public void deleteBookFromShelf(int slotNum) {
-        Book temp = new Book(DUMMYNAME, DUMMYNAME);
-        assert slotNum >= 0 && slotNum < booksCurrentlyOnShelf: "Invalid bookIndex!";
-        shelfBooks.set(slotNum, temp);
+        assert slotNum >= 0 && slotNum < shelfBooks.length && occupiedSlots.get(slotNum) : "Invalid bookIndex!";
+        shelfBooks[slotNum] = null;
+        occupiedSlots.clear(slotNum);
         booksCurrentlyOnShelf -= 1;
     }
 
     //@@author WayneCh0y
     public String getBookId() {
-        int bookIndex = 0;
-        for (Book book : shelfBooks) {
-            if (book.getTitle().equals(DUMMYNAME)) {
-                break;
-            }
-            bookIndex++;
-        }
-        return getShelfIdentifier(bookIndex);
+        return getShelfIdentifier(getSuitableIndex());
     }
 
 
@@ -243,8 +233,8 @@ public class Shelf {
      * Clears the list of books, removing all entries.
      */
     public void cleanup() {
-        shelfBooks.clear();
+        Arrays.fill(shelfBooks, null);
+        occupiedSlots.clear();
         booksCurrentlyOnShelf = 0;
-        isShelfFull = false;
     }
 }
@@ -3,17 +3,28 @@ package seedu.duke.shelving.shelves;
 import seedu.duke.exception.NoSuchSectionException;
 import seedu.duke.exception.SectionFullException;
 
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.List;
+
 /**
  * Represents a collection of shelves in a library, grouped under a section identifier.
- * Each `Shelves` object manages an array of 5 {@link Shelf} objects and provides
+ * Each `Shelves` object manages {@value #MAX_SHELVES_PER_GENRE} {@link Shelf} objects by default and provides
  * operations to add, delete, and check the status of books across these shelves.
+ * A bitset marks the shelves that still have space, so the first one is found without checking each shelf.
+ * <p>
+ * A growable section adds a shelf whenever every shelf is full, up to a fixed maximum number of shelves.
+ * Shelves are only ever added at the end, so the {@code GENRE-shelf-slot} IDs of books already shelved never
+ * change.
  */
 public class Shelves {
-    private static final String NO_SECTION_AVAILABLE = "There is no section available";
 
-    private static final int MAX_SHELVES_PER_GENRE = 5;
-    private final Shelf[] shelves;
-    private boolean isFull = false;
+    public static final int MAX_SHELVES_PER_GENRE = 5;
+    private final List<Shelf> shelves = new ArrayList<>();
+    private final BitSet shelvesWithSpace = new BitSet();
+    private final int initialShelfCount;
+    private final int slotsPerShelf;
+    private final int maxShelfCount;
     private String identifier;
 
 
@@ -25,61 +36,115 @@ public class Shelves {
      * @param identifier A unique string ID for this section (e.g., "FIC").
      */
     public Shelves(String identifier) {
+        this(identifier, MAX_SHELVES_PER_GENRE, Shelf.MAX_BOOKS_ON_SHELF, MAX_SHELVES_PER_GENRE);
+    }
+
+    /**
+     * Constructs a new `Shelves` section with the given number and size of shelves.
+     *
+     * @param identifier    A unique string ID for this section (e.g., "FIC").
+     * @param shelfCount    The number of empty shelves to start with.
+     * @param slotsPerShelf The number of books each shelf holds.
+     * @param maxShelfCount The most shelves the section may grow to. The section never grows if this is
+     *                      {@code shelfCount}.
+     */
+    public Shelves(String identifier, int shelfCount, int slotsPerShelf, int maxShelfCount) {
+        assert shelfCount > 0 && slotsPerShelf > 0 : "A section needs at least one slot";
+        assert maxShelfCount >= shelfCount : "A section cannot start with more shelves than its maximum";
         this.identifier = identifier;
-        this.shelves = new Shelf[5];
-        for (int shelfIndex = 0; shelfIndex < 5; shelfIndex++) {
-            shelves[shelfIndex] = new Shelf(shelfIndex, this.identifier);
+        this.initialShelfCount = shelfCount;
+        this.slotsPerShelf = slotsPerShelf;
+        this.maxShelfCount = maxShelfCount;
+        while (shelves.size() < shelfCount) {
+            addShelf();
         }
     }
 
     /**
-     * Clears the list of books on each shelf.
+     * Clears the list of books on each shelf, and removes any shelves added since the section was created.
      */
     public void cleanup() {
-        this.isFull = false;
+        while (shelves.size() > initialShelfCount) {
+            shelves.remove(shelves.size() - 1);
+        }
+        shelvesWithSpace.clear();
+        shelvesWithSpace.set(0, shelves.size());
 
-        for (int i = 0; i < shelves.length; i++) {
-            if (shelves[i] != null) {
-                shelves[i].cleanup();
-            }
+        for (Shelf shelf : shelves) {
+            shelf.cleanup();
         }
         this.identifier = null;
     }
 
+    private void addShelf() {
+        shelves.add(new Shelf(shelves.size(), identifier, slotsPerShelf));
+        shelvesWithSpace.set(shelves.size() - 1);
+    }
+
     /**
-     * Marks this section as full (all shelves are occupied).
+     * Records whether a shelf has space after a book is added to or removed from it.
      */
-    private void setShelfSectionAsFull() {
-        this.isFull = true;
+    private void updateSpace(int shelfIndex) {
+        shelvesWithSpace.set(shelfIndex, !shelves.get(shelfIndex).isFull());
     }
 
+    /**
+     * Checks if a shelf and slot number name a slot this section has or may grow to have.
+     *
+     * @param shelfNum The shelf number.
+     * @param slotNum  The slot number on that shelf.
+     * @return {@code true} if the slot exists or lies on a shelf within the section's maximum.
+     */
+    public boolean isWithinBounds(int shelfNum, int slotNum) {
+        return shelfNum >= 0 && shelfNum < Math.max(shelves.size(), maxShelfCount)
+                && slotNum >= 0 && slotNum < slotsPerShelf;
+    }
+
+    private boolean canGrow() {
+        return shelves.size() < maxShelfCount;
+    }
+
+    /**
+     * Returns the index of the first shelf with space, adding a shelf if there is none and the section can grow.
+     *
+     * @return The shelf index, or -1 if every shelf is full and the section cannot grow.
+     */
+    private int findShelfWithSpace() {
+        int shelfIndex = shelvesWithSpace.nextSetBit(0);
+        if (shelfIndex < 0 && canGrow()) {
+            addShelf();
+            shelfIndex = shelves.size() - 1;
+        }
+        return shelfIndex;
+    }
 
     //@@author WayneCh0y
     /**
      * Checks if all shelves in this section are full.
+     * A section that can still grow is not full.
      *
-     * @return `true` if all 5 shelves are full, `false` otherwise.
+     * @return `true` if all shelves are full, `false` otherwise.
      */
-    private boolean checkIfShelfSectionIsFull() {
-        int counter = 0;
-        for (int index = 0; index < 5; index++) {
-            if (shelves[index].isFull()) {
-                counter++;
-            }
-        }
-        if (counter == 5) {
-            setShelfSectionAsFull();
-            return true;
-        }
-        return false;
+    public boolean isFull() {
+        return !canGrow() && shelvesWithSpace.isEmpty();
+    }
+
+    public int getShelfCount() {
+        return shelves.size();
+    }
+
+    public int getSlotsPerShelf() {
+        return slotsPerShelf;
     }
 
     //@@author WayneCh0y
     public String getBookID() {
-        for (int shelfIndex = 0; shelfIndex < 5; shelfIndex++) {
-            if (!shelves[shelfIndex].isFull()) {
-                return shelves[shelfIndex].getBookId();
-            }
+        int shelfIndex = shelvesWithSpace.nextSetBit(0);
+        if (shelfIndex >= 0) {
+            return shelves.get(shelfIndex).getBookId();
+        }
+        if (canGrow()) {
+            return identifier + "-" + shelves.size() + "-0"; // The first slot of the shelf that will be added
         }
         return "All shelves are Full!";
     }
@@ -95,7 +160,7 @@ public class Shelves {
      */
     public String listShelf(int index) {
         try {
-            return shelves[index].listShelf();
+            return shelves.get(index).listShelf();
         } catch (IndexOutOfBoundsException e) {
             throw new NoSuchSectionException("There is no such section!");
         }
@@ -108,30 +173,55 @@ public class Shelves {
      * @param title The title of the book to be added.
      * @param author The author of the book to be added.
      * @return The shelf number where the book was added (e.g., "SCIFI1").
-     * @throws SectionFullException If no shelves have available slots.
+     * @throws SectionFullException If no shelves have available slots and the section cannot grow.
      */
     public String addBookToSection(String title, String author) {
-        if (checkIfShelfSectionIsFull()) {
+        int shelfIndex = findShelfWithSpace();
+        if (shelfIndex < 0) {
             throw new SectionFullException("No more books can be added to this section!");
         }
-        for (int index = 0; index < 5; index++) {
-            if (!shelves[index].isFull()) {
-                return shelves[index].addBookToShelf(title, author);
-            }
+        String response = shelves.get(shelfIndex).addBookToShelf(title, author);
+        updateSpace(shelfIndex);
+        return response;
+    }
+
+    /**
+     * Puts a book into the slot its ID names, as when a deleted book is put back or a saved book is loaded.
+     * A growable section adds shelves up to the named one if it does not have it yet, as long as that stays
+     * within its maximum number of shelves.
+     *
+     * @param shelfNum The index of the shelf the book was on.
+     * @param slotNum  The slot the book was in.
+     * @param title    The title of the book.
+     * @param author   The author of the book.
+     * @return {@code true} if the book was put in that slot, or {@code false} if the slot is taken or missing.
+     */
+    public boolean restoreBookToSection(int shelfNum, int slotNum, String title, String author) {
+        if (!isWithinBounds(shelfNum, slotNum)) {
+            return false;
+        }
+        while (shelfNum >= shelves.size()) {
+            addShelf();
+        }
+        if (!shelves.get(shelfNum).isSlotFree(slotNum)) {
+            return false;
         }
-        return NO_SECTION_AVAILABLE;
+        shelves.get(shelfNum).addBookToSlot(title, author, slotNum);
+        updateSpace(shelfNum);
+        return true;
     }
 
     //@@author Deanson-Choo
     /**
      * 'Deletes' a book from the appropriate shelf using its unique slotNum and shelfNum
-     * by replacing the book with a dummy book
+     * by freeing its slot
      * @param shelfNum the index of the shelf where the book is located.
      * @param slotNum the index of the book in the list of books in the shelf
      */
     public void deleteBookFromSection(int shelfNum, int slotNum) {
-        assert shelfNum >= 0 && shelfNum < MAX_SHELVES_PER_GENRE: "Invalid Shelf Number!";
+        assert shelfNum >= 0 && shelfNum < shelves.size(): "Invalid Shelf Number!";
         assert slotNum >= 0: "Invalid bookIndex!";
-        shelves[shelfNum].deleteBookFromShelf(slotNum);
+        shelves.get(shelfNum).deleteBookFromShelf(slotNum);
+        updateSpace(shelfNum);
     }
 }
@@ -0,0 +1,250 @@
+package seedu.duke.storage;
+
+import seedu.duke.book.Book;
+import seedu.duke.book.BookId;
+
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayInputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.DateTimeException;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+//@@author WayneCh0y
+/**
+ * Reads and writes the catalogue in a compact, versioned binary format.
+ * <p>
+ * The file starts with a magic number and a format version, followed by a string table holding every
+ * distinct title, author, borrower name and genre prefix once as a length-prefixed UTF-8 string.
+ * Each book record then refers to those strings by index, stores its due date as an epoch day, and
+ * stores its ID as a genre prefix index plus shelf and slot numbers. Indices and numbers are written as
+ * variable-length integers, so a typical record takes well under a quarter of its text form.
+ * <p>
+ * The format is for exporting and importing the catalogue offline; the application itself loads and
+ * saves the text file. Files are read as untrusted input, so every length and count is checked against
+ * the bytes left before anything is allocated.
+ */
+public class BinarySnapshot {
+    private static final int MAGIC = 0x4C42534E; // "LBSN"
+    private static final int VERSION = 1;
+
+    private static final int FLAG_BORROWED = 1;
+    private static final int FLAG_HAS_DUE_DATE = 1 << 1;
+    private static final int FLAG_STRUCTURED_ID = 1 << 2;
+
+    private static final int NULL_REFERENCE = 0;
+    private static final String BOOK_ID_SEPARATOR = "-";
+    private static final String TEMPORARY_SUFFIX = ".tmp";
+
+    private BinarySnapshot() {
+    }
+
+    /**
+     * Writes the given books to a binary snapshot file, replacing any existing file.
+     * The books are written to a temporary file next to it and forced to disk, which is then renamed over
+     * the snapshot, so a crash leaves either the new snapshot or the previous one.
+     *
+     * @param books The books to write, in catalogue order.
+     * @param path  The snapshot file to write.
+     * @throws IOException If the file cannot be written.
+     */
+    public static void write(List<Book> books, Path path) throws IOException {
+        StringTable strings = new StringTable();
+        List<int[]> records = new ArrayList<>(books.size());
+        for (Book book : books) {
+            records.add(encodeBook(book, strings));
+        }
+
+        Path temporary = path.resolveSibling(path.getFileName() + TEMPORARY_SUFFIX);
+        try (FileOutputStream output = new FileOutputStream(temporary.toFile());
+                DataOutputStream out = new DataOutputStream(new BufferedOutputStream(output))) {
+            out.writeInt(MAGIC);
+            out.writeShort(VERSION);
+
+            writeVarInt(out, strings.values.size());
+            for (String value : strings.values) {
+                byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+                writeVarInt(out, bytes.length);
+                out.write(bytes);
+            }
+
+            writeVarInt(out, records.size());
+            for (int[] record : records) {
+                writeRecord(out, record);
+            }
+            out.flush();
+            output.getFD().sync();
+        }
+        Storage.moveAtomically(temporary, path);
+    }
+
+    /**
+     * Reads the books stored in a binary snapshot file.
+     *
+     * @param path The snapshot file to read.
+     * @return The books in catalogue order.
+     * @throws IOException If the file cannot be read, is not a snapshot, has an unsupported version,
+     *     or is truncated or corrupted.
+     */
+    public static List<Book> read(Path path) throws IOException {
+        try (DataInputStream in = new DataInputStream(new ByteArrayInputStream(Files.readAllBytes(path)))) {
+            if (in.readInt() != MAGIC) {
+                throw new IOException("Not a LeBook snapshot: " + path);
+            }
+            int version = in.readShort();
+            if (version != VERSION) {
+                throw new IOException("Unsupported snapshot version " + version + ": " + path);
+            }
+
+            String[] strings = new String[readLength(in)]; // Each string takes at least its length byte
+            for (int i = 0; i < strings.length; i++) {
+                byte[] bytes = new byte[readLength(in)];
+                in.readFully(bytes);
+                strings[i] = new String(bytes, StandardCharsets.UTF_8);
+            }
+
+            int bookCount = readLength(in); // Each record takes at least one byte
+            List<Book> books = new ArrayList<>(bookCount);
+            for (int i = 0; i < bookCount; i++) {
+                books.add(readBook(in, strings));
+            }
+            return books;
+        } catch (EOFException | IndexOutOfBoundsException | DateTimeException e) {
+            throw new IOException("Snapshot is truncated or corrupted: " + path);
+        }
+    }
+
+    /**
+     * Encodes a book as the values of its record, interning its strings on the way.
+     * The record layout is: flags, title, author, borrower, due date, then either the genre prefix,
+     * shelf and slot of the ID, or a reference to the whole ID if {@link BookId#parse} cannot read it.
+     */
+    private static int[] encodeBook(Book book, StringTable strings) {
+        int flags = 0;
+        if (book.isBorrowed()) {
+            flags |= FLAG_BORROWED;
+        }
+        int epochDay = 0;
+        if (book.getReturnDueDate() != null) {
+            flags |= FLAG_HAS_DUE_DATE;
+            epochDay = (int) book.getReturnDueDate().toEpochDay();
+        }
+
+        long bookId = BookId.parse(book.getBookID());
+        int genre;
+        int shelf = 0;
+        int slot = 0;
+        if (bookId != BookId.NONE) {
+            flags |= FLAG_STRUCTURED_ID;
+            genre = strings.reference(BookId.getGenre(bookId).getIdPrefix());
+            shelf = BookId.getShelf(bookId);
+            slot = BookId.getSlot(bookId);
+        } else {
+            genre = strings.reference(book.getBookID());
+        }
+
+        return new int[] {flags, strings.reference(book.getTitle()), strings.reference(book.getAuthor()),
+            strings.reference(book.getBorrowerName()), epochDay, genre, shelf, slot};
+    }
+
+    private static void writeRecord(DataOutputStream out, int[] record) throws IOException {
+        int flags = record[0];
+        out.writeByte(flags);
+        writeVarInt(out, record[1]);
+        writeVarInt(out, record[2]);
+        writeVarInt(out, record[3]);
+        if ((flags & FLAG_HAS_DUE_DATE) != 0) {
+            out.writeInt(record[4]);
+        }
+        writeVarInt(out, record[5]);
+        if ((flags & FLAG_STRUCTURED_ID) != 0) {
+            writeVarInt(out, record[6]);
+            writeVarInt(out, record[7]);
+        }
+    }
+
+    private static Book readBook(DataInputStream in, String[] strings) throws IOException {
+        int flags = in.readUnsignedByte();
+        String title = dereference(strings, readVarInt(in));
+        String author = dereference(strings, readVarInt(in));
+        String borrower = dereference(strings, readVarInt(in));
+        LocalDate dueDate = (flags & FLAG_HAS_DUE_DATE) != 0 ? LocalDate.ofEpochDay(in.readInt()) : null;
+
+        String bookID = dereference(strings, readVarInt(in));
+        if ((flags & FLAG_STRUCTURED_ID) != 0) {
+            bookID = bookID + BOOK_ID_SEPARATOR + readVarInt(in) + BOOK_ID_SEPARATOR + readVarInt(in);
+        }
+
+        if (title == null || author == null || bookID == null) {
+            throw new IOException("Snapshot record is missing a title, author or ID.");
+        }
+        return new Book(title, author, (flags & FLAG_BORROWED) != 0, dueDate, bookID, borrower);
+    }
+
+    private static String dereference(String[] strings, int reference) {
+        return reference == NULL_REFERENCE ? null : strings[reference - 1];
+    }
+
+    private static void writeVarInt(DataOutputStream out, int value) throws IOException {
+        int remaining = value;
+        while ((remaining & ~0x7F) != 0) {
+            out.writeByte((remaining & 0x7F) | 0x80);
+            remaining >>>= 7;
+        }
+        out.writeByte(remaining);
+    }
+
+    /**
+     * Reads a length or count, which cannot be negative or exceed the bytes left in the file.
+     */
+    private static int readLength(DataInputStream in) throws IOException {
+        int length = readVarInt(in);
+        if (length < 0 || length > in.available()) {
+            throw new IOException("Snapshot length out of range: " + length);
+        }
+        return length;
+    }
+
+    private static int readVarInt(DataInputStream in) throws IOException {
+        int value = 0;
+        for (int shift = 0; shift < Integer.SIZE; shift += 7) {
+            int next = in.readUnsignedByte();
+            value |= (next & 0x7F) << shift;
+            if ((next & 0x80) == 0) {
+                return value;
+            }
+        }
+        throw new IOException("Malformed number in snapshot.");
+    }
+
+    /**
+     * Assigns each distinct string a 1-based reference in order of first use; 0 stands for {@code null}.
+     */
+    private static class StringTable {
+        private final Map<String, Integer> references = new HashMap<>();
+        private final List<String> values = new ArrayList<>();
+
+        int reference(String value) {
+            if (value == null) {
+                return NULL_REFERENCE;
+            }
+            Integer reference = references.get(value);
+            if (reference == null) {
+                values.add(value);
+                reference = values.size();
+                references.put(value, reference);
+            }
+            return reference;
+        }
+    }
+}
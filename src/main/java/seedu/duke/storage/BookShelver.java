@@ -0,0 +1,70 @@
+package seedu.duke.storage;
+
+import seedu.duke.book.Book;
+import seedu.duke.book.BookId;
+import seedu.duke.member.MemberManager;
+import seedu.duke.shelving.ShelvesManager;
+
+import java.util.Iterator;
+import java.util.List;
+
+//@@author WayneCh0y
+/**
+ * Puts books loaded by a {@link StorageBackend} back on the shelves, so every backend shelves the books it
+ * loads the same way.
+ */
+final class BookShelver {
+    private static final String ERROR = "[ERROR] ";
+    private static final String UNSHELVABLE_BOOK_MESSAGE = "No free slot for stored book, dropped: ";
+
+    private BookShelver() {
+    }
+
+    /**
+     * Places loaded books on their shelves and links borrowed books to their borrowers.
+     * Each book goes back into the slot its ID names, so shelf contents match the saved IDs. A book whose
+     * slot is taken or no longer exists goes into the first free slot of its genre and is given that slot's
+     * ID; a book that fits nowhere is dropped from the list.
+     *
+     * @param bookList       The loaded books, in catalogue order. Dropped books are removed from it.
+     * @param memberManager  The {@code MemberManager} used to link borrowed books to their borrowers.
+     * @return {@code true} if any book was given a new ID or dropped, so the stored books must be rewritten.
+     */
+    static boolean registerBooks(List<Book> bookList, MemberManager memberManager) {
+        ShelvesManager shelvesManager = ShelvesManager.getShelvesManagerInstance();
+        boolean isChanged = false;
+        Iterator<Book> books = bookList.iterator();
+        while (books.hasNext()) {
+            Book book = books.next();
+            if (!shelvesManager.restoreBook(book.getId(), book.getTitle(), book.getAuthor())) {
+                isChanged = true;
+                long newId = BookId.parse(shelvesManager.getBookId(book.getGenre()));
+                if (newId == BookId.NONE) {
+                    System.out.println(ERROR + UNSHELVABLE_BOOK_MESSAGE + book.toFileFormat());
+                    books.remove();
+                    continue;
+                }
+                shelvesManager.addBook(book.getTitle(), book.getAuthor(), book.getGenre());
+                book.setBookID(newId);
+            }
+            if (book.isBorrowed()) {
+                attachBorrower(book, memberManager);
+            }
+        }
+        return isChanged;
+    }
+
+    /**
+     * Assigns the specified {@code Book} to its borrower. Borrowers missing from the member store are
+     * registered with the {@code MemberManager}.
+     *
+     * @param book           The book that is borrowed.
+     * @param memberManager  The manager used to look up or register the borrower.
+     */
+    private static void attachBorrower(Book book, MemberManager memberManager) {
+        String borrowerName = book.getBorrowerName();
+        if (borrowerName != null && !borrowerName.isEmpty()) {
+            memberManager.getMemberByName(borrowerName).borrowBook(book);
+        }
+    }
+}
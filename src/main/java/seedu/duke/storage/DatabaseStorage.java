@@ -0,0 +1,342 @@
+package seedu.duke.storage;
+
+import seedu.duke.book.Book;
+import seedu.duke.member.Member;
+import seedu.duke.member.MemberManager;
+
+import java.sql.Connection;
+import java.sql.Date;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Types;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+//@@author WayneCh0y
+/**
+ * Keeps the catalogue in an embedded, single-file database reached through JDBC, such as H2 in file mode
+ * ({@code jdbc:h2:file:./data/LeBook}). Each book is a row keyed by its ID, so adding, deleting, borrowing
+ * or returning a book updates one row instead of rewriting the whole catalogue.
+ * <p>
+ * Members are kept in a second table. {@link #flush()} writes only the rows of members changed since they
+ * were last saved, so a borrow updates the book's row and its borrower's row.
+ * The JDBC driver is not a compile-time dependency; it only has to be on the runtime classpath.
+ */
+public class DatabaseStorage implements StorageBackend {
+    private static final String ERROR = "[ERROR] ";
+    private static final String MEMBER_HISTORY_SEPARATOR = ",";
+
+    private static final String CREATE_BOOKS_TABLE = "CREATE TABLE IF NOT EXISTS books ("
+            + "book_id VARCHAR(255) PRIMARY KEY, position BIGINT NOT NULL, title VARCHAR(1000) NOT NULL, "
+            + "author VARCHAR(1000) NOT NULL, borrowed BOOLEAN NOT NULL, due_date DATE, borrower VARCHAR(1000))";
+    private static final String CREATE_POSITION_INDEX = "CREATE INDEX IF NOT EXISTS books_position ON books (position)";
+    private static final String CREATE_MEMBERS_TABLE = "CREATE TABLE IF NOT EXISTS members ("
+            + "member_id INT PRIMARY KEY, name VARCHAR(1000) NOT NULL, history CLOB)";
+
+    private static final String SELECT_BOOKS =
+            "SELECT book_id, position, title, author, borrowed, due_date, borrower FROM books ORDER BY position";
+    private static final String SELECT_MEMBERS = "SELECT member_id, name, history FROM members ORDER BY member_id";
+    private static final String INSERT_BOOK = "INSERT INTO books "
+            + "(title, author, borrowed, due_date, borrower, position, book_id) VALUES (?, ?, ?, ?, ?, ?, ?)";
+    private static final String UPDATE_BOOK = "UPDATE books SET "
+            + "title = ?, author = ?, borrowed = ?, due_date = ?, borrower = ?, position = ? WHERE book_id = ?";
+    private static final String UPDATE_STATUS =
+            "UPDATE books SET borrowed = ?, due_date = ?, borrower = ? WHERE book_id = ?";
+    private static final String SELECT_POSITION = "SELECT position FROM books WHERE book_id = ?";
+    private static final String SHIFT_POSITIONS = "UPDATE books SET position = position + 1 WHERE position >= ?";
+    private static final String DELETE_BOOK = "DELETE FROM books WHERE book_id = ?";
+    private static final String DELETE_ALL_BOOKS = "DELETE FROM books";
+    private static final String INSERT_MEMBER = "INSERT INTO members (name, history, member_id) VALUES (?, ?, ?)";
+    private static final String UPDATE_MEMBER = "UPDATE members SET name = ?, history = ? WHERE member_id = ?";
+
+    private final Connection connection;
+    private final Object stateLock = new Object();
+    private MemberManager memberManager;
+    private long nextPosition = 0;
+
+    private DatabaseStorage(Connection connection) {
+        this.connection = connection;
+    }
+
+    /**
+     * Opens the database at the given JDBC URL, creating its tables if they do not exist yet.
+     *
+     * @param url The JDBC URL of the database.
+     * @return A backend that reads and writes that database.
+     * @throws SQLException If no driver accepts the URL or the tables cannot be created.
+     */
+    public static DatabaseStorage open(String url) throws SQLException {
+        Connection connection = DriverManager.getConnection(url);
+        try (Statement statement = connection.createStatement()) {
+            statement.execute(CREATE_BOOKS_TABLE);
+            statement.execute(CREATE_POSITION_INDEX);
+            statement.execute(CREATE_MEMBERS_TABLE);
+        } catch (SQLException e) {
+            connection.close();
+            throw e;
+        }
+        return new DatabaseStorage(connection);
+    }
+
+    @Override
+    public Object getStateLock() {
+        return stateLock;
+    }
+
+    /**
+     * Loads members and then books from the database, in catalogue order.
+     *
+     * @param memberManager The {@code MemberManager} to load members into.
+     * @return The stored books, or an empty list if the database could not be read.
+     */
+    @Override
+    public List<Book> loadFileContents(MemberManager memberManager) {
+        synchronized (stateLock) {
+            this.memberManager = memberManager;
+            List<Book> bookList = new ArrayList<>();
+            try {
+                loadMembers(memberManager);
+                try (Statement statement = connection.createStatement();
+                        ResultSet rows = statement.executeQuery(SELECT_BOOKS)) {
+                    while (rows.next()) {
+                        Date dueDate = rows.getDate("due_date");
+                        bookList.add(new Book(rows.getString("title"), rows.getString("author"),
+                                rows.getBoolean("borrowed"), dueDate == null ? null : dueDate.toLocalDate(),
+                                rows.getString("book_id"), rows.getString("borrower")));
+                        nextPosition = rows.getLong("position") + 1;
+                    }
+                }
+            } catch (SQLException e) {
+                System.out.println(ERROR + e.getMessage());
+                return new ArrayList<>();
+            }
+
+            if (BookShelver.registerBooks(bookList, memberManager)) {
+                writeToFile(bookList); // Rows whose book moved to another slot are stored under the new ID
+            }
+            if (memberManager.hasUnsavedChanges()) {
+                writeMembers();
+            }
+            return bookList;
+        }
+    }
+
+    /**
+     * Replaces every stored book with the given books in a single transaction.
+     *
+     * @param bookList The full list of books in the catalogue.
+     */
+    @Override
+    public void writeToFile(List<Book> bookList) {
+        assert bookList != null : "Book list cannot be null";
+
+        synchronized (stateLock) {
+            try {
+                connection.setAutoCommit(false);
+                try (Statement statement = connection.createStatement();
+                        PreparedStatement insert = connection.prepareStatement(INSERT_BOOK)) {
+                    statement.executeUpdate(DELETE_ALL_BOOKS);
+                    nextPosition = 0;
+                    for (Book book : bookList) {
+                        bindBook(insert, book, nextPosition++);
+                        insert.addBatch();
+                    }
+                    insert.executeBatch();
+                    connection.commit();
+                } catch (SQLException e) {
+                    connection.rollback();
+                    throw e;
+                } finally {
+                    connection.setAutoCommit(true);
+                }
+            } catch (SQLException e) {
+                System.out.println(ERROR + e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * Stores the book at the position it has in the catalogue, so a reload lists the books in the order
+     * the user saw. A book added at the end, which includes a deleted book put back by undo, takes the next
+     * position. A book found earlier in the list moves every stored book from its successor onwards up by one.
+     * A book whose ID is already stored replaces that row.
+     */
+    @Override
+    public void recordAddition(Book book, List<Book> bookList) {
+        synchronized (stateLock) {
+            try {
+                connection.setAutoCommit(false);
+                try {
+                    long position = claimPosition(book, bookList);
+                    try (PreparedStatement update = connection.prepareStatement(UPDATE_BOOK)) {
+                        bindBook(update, book, position);
+                        if (update.executeUpdate() == 0) {
+                            try (PreparedStatement insert = connection.prepareStatement(INSERT_BOOK)) {
+                                bindBook(insert, book, position);
+                                insert.executeUpdate();
+                            }
+                        }
+                    }
+                    connection.commit();
+                } catch (SQLException e) {
+                    connection.rollback();
+                    throw e;
+                } finally {
+                    connection.setAutoCommit(true);
+                }
+            } catch (SQLException e) {
+                System.out.println(ERROR + e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * Returns the stored position for a book being added, making room for it if it is not last in the list.
+     *
+     * @param book     The book being added.
+     * @param bookList The full list of books in the catalogue, with the book in place.
+     * @return The position to store the book at.
+     * @throws SQLException If the positions cannot be read or shifted.
+     */
+    private long claimPosition(Book book, List<Book> bookList) throws SQLException {
+        boolean isLast = !bookList.isEmpty() && bookList.get(bookList.size() - 1) == book;
+        int index = isLast ? -1 : bookList.indexOf(book);
+        if (index < 0 || index == bookList.size() - 1) {
+            return nextPosition++;
+        }
+
+        try (PreparedStatement select = connection.prepareStatement(SELECT_POSITION)) {
+            select.setString(1, bookList.get(index + 1).getBookID());
+            try (ResultSet row = select.executeQuery()) {
+                if (!row.next()) {
+                    return nextPosition++;
+                }
+                long position = row.getLong("position");
+                try (PreparedStatement shift = connection.prepareStatement(SHIFT_POSITIONS)) {
+                    shift.setLong(1, position);
+                    shift.executeUpdate();
+                }
+                nextPosition++;
+                return position;
+            }
+        }
+    }
+
+    @Override
+    public void recordDeletion(Book book, List<Book> bookList) {
+        synchronized (stateLock) {
+            try (PreparedStatement delete = connection.prepareStatement(DELETE_BOOK)) {
+                delete.setString(1, book.getBookID());
+                delete.executeUpdate();
+            } catch (SQLException e) {
+                System.out.println(ERROR + e.getMessage());
+            }
+        }
+    }
+
+    @Override
+    public void recordStatusChange(Book book, List<Book> bookList) {
+        synchronized (stateLock) {
+            try (PreparedStatement update = connection.prepareStatement(UPDATE_STATUS)) {
+                update.setBoolean(1, book.isBorrowed());
+                setDate(update, 2, book.getReturnDueDate());
+                update.setString(3, book.getBorrowerName());
+                update.setString(4, book.getBookID());
+                update.executeUpdate();
+            } catch (SQLException e) {
+                System.out.println(ERROR + e.getMessage());
+            }
+            flush(); // Borrowing is what changes members, so save them together with the book
+        }
+    }
+
+    /**
+     * Book changes are written as they happen, so only changed members are left to save.
+     */
+    @Override
+    public void flush() {
+        synchronized (stateLock) {
+            if (memberManager != null && memberManager.hasUnsavedChanges()) {
+                writeMembers();
+            }
+        }
+    }
+
+    private void loadMembers(MemberManager memberManager) throws SQLException {
+        try (Statement statement = connection.createStatement();
+                ResultSet rows = statement.executeQuery(SELECT_MEMBERS)) {
+            while (rows.next()) {
+                Member member = new Member(rows.getInt("member_id"), rows.getString("name"));
+                String history = rows.getString("history");
+                if (history != null && !history.isEmpty()) {
+                    for (String bookID : history.split(MEMBER_HISTORY_SEPARATOR)) {
+                        member.recordBorrowing(bookID);
+                    }
+                }
+                memberManager.addMember(member);
+            }
+        }
+    }
+
+    /**
+     * Updates or inserts the rows of the members changed since they were last saved, in a single transaction.
+     */
+    private void writeMembers() {
+        try {
+            connection.setAutoCommit(false);
+            try (PreparedStatement update = connection.prepareStatement(UPDATE_MEMBER);
+                    PreparedStatement insert = connection.prepareStatement(INSERT_MEMBER)) {
+                for (Member member : memberManager.getUnsavedMembers()) {
+                    bindMember(update, member);
+                    if (update.executeUpdate() == 0) {
+                        bindMember(insert, member);
+                        insert.executeUpdate();
+                    }
+                }
+                connection.commit();
+                memberManager.markSaved();
+            } catch (SQLException e) {
+                connection.rollback();
+                throw e;
+            } finally {
+                connection.setAutoCommit(true);
+            }
+        } catch (SQLException e) {
+            System.out.println(ERROR + e.getMessage());
+        }
+    }
+
+    /**
+     * Binds a book to an {@link #INSERT_BOOK} or {@link #UPDATE_BOOK} statement, which share a column order.
+     */
+    private static void bindBook(PreparedStatement statement, Book book, long position) throws SQLException {
+        statement.setString(1, book.getTitle());
+        statement.setString(2, book.getAuthor());
+        statement.setBoolean(3, book.isBorrowed());
+        setDate(statement, 4, book.getReturnDueDate());
+        statement.setString(5, book.getBorrowerName());
+        statement.setLong(6, position);
+        statement.setString(7, book.getBookID());
+    }
+
+    /**
+     * Binds a member to an {@link #INSERT_MEMBER} or {@link #UPDATE_MEMBER} statement, which share a column order.
+     */
+    private static void bindMember(PreparedStatement statement, Member member) throws SQLException {
+        statement.setString(1, member.getName());
+        statement.setString(2, String.join(MEMBER_HISTORY_SEPARATOR, member.getBorrowingHistory()));
+        statement.setInt(3, member.getId());
+    }
+
+    private static void setDate(PreparedStatement statement, int index, LocalDate date) throws SQLException {
+        if (date == null) {
+            statement.setNull(index, Types.DATE);
+        } else {
+            statement.setDate(index, Date.valueOf(date));
+        }
+    }
+}
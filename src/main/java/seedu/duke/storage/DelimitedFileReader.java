@@ -0,0 +1,284 @@
+package seedu.duke.storage;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.Charset;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.zip.CRC32;
+
+//@@author WayneCh0y
+/**
+ * Reads a pipe-delimited storage file line by line without regular expressions or a {@code Scanner}.
+ * Large files are memory-mapped and scanned for {@code '|'} and line break bytes directly, so the only
+ * {@code String}s created are the trimmed fields that are asked for.
+ */
+class DelimitedFileReader {
+    private static final int MAPPING_THRESHOLD_BYTES = 1 << 20;
+    private static final boolean IS_WINDOWS = System.getProperty("os.name", "").startsWith("Windows");
+
+    private static final byte DELIMITER = '|';
+    private static final byte LINE_FEED = '\n';
+    private static final byte CARRIAGE_RETURN = '\r';
+    private static final byte SPACE = ' ';
+
+    private final ByteBuffer buffer;
+    private final Charset charset;
+    private final int limit;
+
+    private byte[] scratch = new byte[256];
+    private int position;
+    private int lineStart;
+    private int lineEnd;
+    private int lineNumber = 0;
+
+    private DelimitedFileReader(ByteBuffer buffer, Charset charset) {
+        this(buffer, charset, 0, findContentEnd(buffer));
+    }
+
+    private DelimitedFileReader(ByteBuffer buffer, Charset charset, int start, int limit) {
+        this.buffer = buffer;
+        this.charset = charset;
+        this.position = start;
+        this.lineStart = start;
+        this.lineEnd = start;
+        this.limit = limit;
+    }
+
+    /**
+     * Opens the given file for reading. Files of at least {@value #MAPPING_THRESHOLD_BYTES} bytes are
+     * memory-mapped; smaller ones are read onto the heap, where mapping costs more than it saves.
+     * Windows keeps a mapped file locked until the mapping is garbage collected, which would block the
+     * next save, so files are never mapped there. Fields are decoded with the default charset, which is
+     * the one {@code FileWriter} uses when saving.
+     *
+     * @param path The file to read.
+     * @return A reader positioned at the first line of the file.
+     * @throws IOException If the file cannot be read.
+     */
+    static DelimitedFileReader open(Path path) throws IOException {
+        return open(path, Charset.defaultCharset());
+    }
+
+    /**
+     * Opens the given file for reading, decoding fields with the given charset.
+     * The charset must encode {@code '|'}, line breaks and spaces as single ASCII bytes, as UTF-8 does.
+     *
+     * @param path    The file to read.
+     * @param charset The charset the file was written in.
+     * @return A reader positioned at the first line of the file.
+     * @throws IOException If the file cannot be read.
+     */
+    static DelimitedFileReader open(Path path, Charset charset) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            long size = channel.size();
+            if (size < MAPPING_THRESHOLD_BYTES || IS_WINDOWS) {
+                return new DelimitedFileReader(ByteBuffer.wrap(Files.readAllBytes(path)), charset);
+            }
+            if (size > Integer.MAX_VALUE) {
+                throw new IOException("Storage file is too large to load: " + path);
+            }
+            return new DelimitedFileReader(channel.map(FileChannel.MapMode.READ_ONLY, 0, size), charset);
+        }
+    }
+
+    /**
+     * Finds the end of the last line with content, so trailing blank lines are not read as records.
+     */
+    private static int findContentEnd(ByteBuffer buffer) {
+        int end = buffer.limit();
+        while (end > 0 && isWhitespace(buffer.get(end - 1))) {
+            end--;
+        }
+        return end;
+    }
+
+    /**
+     * Returns whether a byte is whitespace in the sense of {@link String#trim()}. Bytes of multi-byte
+     * characters are negative and never match.
+     */
+    private static boolean isWhitespace(byte value) {
+        return value >= 0 && value <= SPACE;
+    }
+
+    /**
+     * Splits the lines not yet read into consecutive chunks of roughly {@code chunkBytes} bytes each.
+     * Every chunk ends just after a line break, so no line is divided, and each chunk has its own reader
+     * that numbers its lines from 1. The chunk readers share this reader's bytes but none of its position,
+     * so they can be read from different threads.
+     *
+     * @param chunkBytes The approximate size of each chunk in bytes.
+     * @return Readers for the chunks, in file order.
+     */
+    List<DelimitedFileReader> split(int chunkBytes) {
+        assert chunkBytes > 0 : "Chunk size must be positive";
+
+        List<DelimitedFileReader> chunks = new ArrayList<>();
+        int chunkStart = position;
+        while (chunkStart < limit) {
+            int chunkEnd = chunkStart + chunkBytes >= limit || chunkStart + chunkBytes < 0
+                    ? limit
+                    : endOfLine(chunkStart + chunkBytes);
+            chunks.add(new DelimitedFileReader(buffer.duplicate(), charset, chunkStart, chunkEnd));
+            chunkStart = chunkEnd;
+        }
+        return chunks;
+    }
+
+    /**
+     * Returns the index just after the line break that ends the line containing {@code index}.
+     */
+    private int endOfLine(int index) {
+        int end = index;
+        while (end < limit && buffer.get(end) != LINE_FEED && buffer.get(end) != CARRIAGE_RETURN) {
+            end++;
+        }
+        if (end < limit && buffer.get(end) == CARRIAGE_RETURN) {
+            end++;
+        }
+        if (end < limit && buffer.get(end) == LINE_FEED) {
+            end++;
+        }
+        return end;
+    }
+
+    /**
+     * Returns the CRC-32 checksum of every byte of the file, including bytes already read.
+     *
+     * @return The checksum.
+     */
+    long checksum() {
+        CRC32 crc = new CRC32();
+        crc.update(buffer.duplicate().clear());
+        return crc.getValue();
+    }
+
+    /**
+     * Returns the size of the file in bytes.
+     *
+     * @return The number of bytes in the file.
+     */
+    int length() {
+        return buffer.limit();
+    }
+
+    /**
+     * Returns whether another line with content remains.
+     *
+     * @return {@code true} if {@link #nextFields(int)} can be called.
+     */
+    boolean hasNextLine() {
+        return position < limit;
+    }
+
+    /**
+     * Returns the 1-based number of the line last read.
+     *
+     * @return The line number.
+     */
+    int getLineNumber() {
+        return lineNumber;
+    }
+
+    /**
+     * Advances to the next line and returns its first {@code fieldCount} fields, each trimmed.
+     * Any further fields on the line are ignored.
+     *
+     * @param fieldCount The number of fields to read.
+     * @return The fields, or {@code null} if the line has fewer than {@code fieldCount} fields.
+     */
+    String[] nextFields(int fieldCount) {
+        advanceLine();
+
+        String[] fields = new String[fieldCount];
+        int fieldStart = lineStart;
+        for (int field = 0; field < fieldCount; field++) {
+            if (fieldStart > lineEnd) {
+                return null;
+            }
+            int fieldEnd = indexOfDelimiter(fieldStart);
+            fields[field] = decodeTrimmed(fieldStart, fieldEnd);
+            fieldStart = fieldEnd + 1;
+        }
+        return fields;
+    }
+
+    /**
+     * Advances to the next line and returns all of its fields, each trimmed, for lines whose number of
+     * fields depends on their content.
+     *
+     * @return The fields of the line; a line without a delimiter has one field.
+     */
+    String[] nextFields() {
+        advanceLine();
+
+        List<String> fields = new ArrayList<>();
+        int fieldStart = lineStart;
+        while (fieldStart <= lineEnd) {
+            int fieldEnd = indexOfDelimiter(fieldStart);
+            fields.add(decodeTrimmed(fieldStart, fieldEnd));
+            fieldStart = fieldEnd + 1;
+        }
+        return fields.toArray(new String[0]);
+    }
+
+    /**
+     * Returns the full text of the line last read, for error messages.
+     *
+     * @return The line without its line break.
+     */
+    String currentLine() {
+        return decode(lineStart, lineEnd);
+    }
+
+    private void advanceLine() {
+        lineStart = position;
+        int index = position;
+        while (index < limit && buffer.get(index) != LINE_FEED && buffer.get(index) != CARRIAGE_RETURN) {
+            index++;
+        }
+        lineEnd = index;
+        position = endOfLine(index);
+        lineNumber++;
+    }
+
+    private int indexOfDelimiter(int from) {
+        int index = from;
+        while (index < lineEnd && buffer.get(index) != DELIMITER) {
+            index++;
+        }
+        return index;
+    }
+
+    /**
+     * Decodes the bytes between {@code start} and {@code end} with surrounding whitespace removed,
+     * matching {@link String#trim()}.
+     */
+    private String decodeTrimmed(int start, int end) {
+        int from = start;
+        int to = end;
+        while (from < to && isWhitespace(buffer.get(from))) {
+            from++;
+        }
+        while (to > from && isWhitespace(buffer.get(to - 1))) {
+            to--;
+        }
+        return decode(from, to);
+    }
+
+    private String decode(int start, int end) {
+        int length = end - start;
+        if (buffer.hasArray()) {
+            return new String(buffer.array(), buffer.arrayOffset() + start, length, charset);
+        }
+        if (scratch.length < length) {
+            scratch = new byte[Math.max(length, scratch.length * 2)];
+        }
+        buffer.get(start, scratch, 0, length);
+        return new String(scratch, 0, length, charset);
+    }
+}
@@ -0,0 +1,81 @@
+package seedu.duke.storage;
+
+//@@author WayneCh0y
+/**
+ * Background thread that saves changes on behalf of {@link Storage}, so commands do not wait for disk writes.
+ * <p>
+ * Every change marks the worker dirty. The worker then waits until the oldest unsaved change is
+ * {@code maxStalenessMillis} old before running a single flush, so a burst of changes (such as a multi-step
+ * undo) is written out once. Saved data is therefore never more than roughly that bound out of date.
+ */
+class PersistenceWorker implements Runnable {
+    private static final String THREAD_NAME = "LeBook-persistence";
+
+    private final Runnable flushAction;
+    private final long maxStalenessMillis;
+    private final Thread thread;
+
+    private boolean isDirty = false;
+    private long dirtySinceMillis;
+
+    /**
+     * Creates a worker that runs {@code flushAction} at most {@code maxStalenessMillis} after a change.
+     *
+     * @param flushAction         The action that writes out all pending changes.
+     * @param maxStalenessMillis  The longest time a change may wait before it is written.
+     */
+    PersistenceWorker(Runnable flushAction, long maxStalenessMillis) {
+        assert maxStalenessMillis >= 0 : "Staleness bound cannot be negative";
+        this.flushAction = flushAction;
+        this.maxStalenessMillis = maxStalenessMillis;
+        this.thread = new Thread(this, THREAD_NAME);
+        this.thread.setDaemon(true);
+    }
+
+    void start() {
+        thread.start();
+    }
+
+    void stop() {
+        thread.interrupt();
+    }
+
+    /**
+     * Notes that there are unsaved changes. Only the first change since the last flush starts the clock.
+     */
+    synchronized void markDirty() {
+        if (!isDirty) {
+            isDirty = true;
+            dirtySinceMillis = System.currentTimeMillis();
+            notifyAll();
+        }
+    }
+
+    @Override
+    public void run() {
+        try {
+            while (!Thread.currentThread().isInterrupted()) {
+                awaitFlushDeadline();
+                flushAction.run();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Blocks until there are unsaved changes and the oldest of them has reached the staleness bound.
+     */
+    private synchronized void awaitFlushDeadline() throws InterruptedException {
+        while (!isDirty) {
+            wait();
+        }
+        long deadline = dirtySinceMillis + maxStalenessMillis;
+        long now = System.currentTimeMillis();
+        while (now < deadline) {
+            wait(deadline - now);
+            now = System.currentTimeMillis();
+        }
+        isDirty = false;
+    }
+}
@@ -1,26 +1,40 @@
 package seedu.duke.storage;
 
 import seedu.duke.book.Book;
+import seedu.duke.book.BookId;
 import seedu.duke.exception.LeBookException;
 import seedu.duke.member.Member;
 import seedu.duke.member.MemberManager;
 import seedu.duke.shelving.ShelvesManager;
 
-import java.io.FileNotFoundException;
+import java.nio.file.AtomicMoveNotSupportedException;
 import java.nio.file.Files;
+import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
 import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
 import java.util.List;
-import java.util.Scanner;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.TimeUnit;
 import java.io.File;
 import java.io.IOException;
 import java.io.BufferedWriter;
+import java.io.FileOutputStream;
 import java.io.FileWriter;
+import java.io.OutputStreamWriter;
 import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.zip.CRC32;
+import java.util.zip.CheckedOutputStream;
 
 //@@author WayneCh0y
-public class Storage {
-    private static final String SPLIT_REGEX = "\\|";
+public class Storage implements StorageBackend {
     private static final String DIRECTORY_NAME = "data";
 
     private static final int BOOK_TITLE_INDEX = 0;
@@ -32,33 +46,75 @@ public class Storage {
 
     private static final int MAX_SPLIT_NUMBER = 6;
 
-    private static final String ROMANCE = "romance";
-    private static final String ADVENTURE = "adventure";
-    private static final String ACTION = "action";
-    private static final String HORROR = "horror";
-    private static final String MYSTERY = "mystery";
-    private static final String NONFICTION = "nonfiction";
-    private static final String SCIFI = "scifi";
-
-    private static final String ROMANCE_ID = "R";
-    private static final String ADVENTURE_ID = "AD";
-    private static final String ACTION_ID = "AC";
-    private static final String HORROR_ID = "H";
-    private static final String MYSTERY_ID = "MY";
-    private static final String NONFICTION_ID = "NF";
-    private static final String SCIFI_ID = "SCIF";
     private static final String CLEAR_FILE_MESSAGE = "[INFO] File cleared successfully.";
     private static final String FILE_CLEAR_FAIL_MESSAGE = "[ERROR] Failed to clear file: ";
     private static final String BORROWED_IDENTIFYER = "1";
     private static final String NOT_BORROWED_IDENTIFYER = "0";
     private static final String TAMPERED_FILE_MESSAGE = "Stop messing with my storage text file!";
     private static final String DUPLICATE_BOOK_ID_MESSAGE = "Duplicate book ID found in storage!";
+    private static final String INVALID_BOOK_ID_MESSAGE = "Invalid book ID: ";
     private static final String ERROR = "[ERROR] ";
-    private static final String BOOK_ID_SPLIT_REGEX = "-";
+
+    private static final String JOURNAL_SUFFIX = ".journal";
+    private static final String BACKUP_SUFFIX = ".bak";
+    private static final String TEMPORARY_SUFFIX = ".tmp";
+    private static final String RECOVERED_MESSAGE = "[INFO] Storage file was damaged; restored the last good copy.";
+    private static final String REJECTED_SUFFIX = ".rejected";
+    private static final String MEMBERS_SUFFIX = ".members";
+    private static final String MEMBER_HISTORY_SEPARATOR = ",";
+    private static final int MEMBER_ID_INDEX = 0;
+    private static final int MEMBER_NAME_INDEX = 1;
+    private static final int MEMBER_HISTORY_INDEX = 2;
+    private static final int MEMBER_FIELD_NUMBER = 3;
+    private static final String REJECTED_LINE_PREFIX = "line ";
+    private static final String REJECTED_LINES_MESSAGE = "[INFO] %d unreadable line(s) were skipped and moved to %s";
+    private static final String JOURNAL_SEPARATOR = " | ";
+    private static final String JOURNAL_ADD = "ADD";
+    private static final String JOURNAL_DELETE = "DELETE";
+    private static final String JOURNAL_BORROW = "BORROW";
+    private static final String JOURNAL_RETURN = "RETURN";
+    private static final String JOURNAL_MEMBER = "MEMBER";
+    private static final String JOURNAL_SNAPSHOT = "SNAPSHOT";
+    private static final int JOURNAL_OPERATION_INDEX = 0;
+    private static final int JOURNAL_STAMP_INDEX = 1;
+    private static final int JOURNAL_HEADER_FIELD_NUMBER = 2;
+    private static final String STAMP_SEPARATOR = "-";
+    private static final String STALE_SUFFIX = ".stale";
+    private static final String STALE_JOURNAL_MESSAGE =
+            "Journal does not extend the saved catalogue and was not replayed; it was moved to %s";
+    private static final int JOURNAL_FIELD_NUMBER = MAX_SPLIT_NUMBER + 1;
+    private static final int JOURNAL_MEMBER_FIELD_NUMBER = MEMBER_FIELD_NUMBER + 1;
+    private static final int COMPACTION_THRESHOLD = 1000;
+    private static final int LOAD_CHUNK_BYTES = 1 << 20;
+    private static final String UNREADABLE_JOURNAL_MESSAGE = "Journal could not be read and was moved to %s: %s";
+    private static final String REJECTED_JOURNAL_PREFIX = "journal line ";
 
     private static Storage instance;
     private final ShelvesManager shelvesManager;
     private final String filePath;
+    private final String journalPath;
+    private final String staleJournalPath;
+    private final String backupPath;
+    private final String temporaryPath;
+    private final String rejectedPath;
+    private final String membersPath;
+
+    private final Object stateLock = new Object();
+    private final List<String> pendingJournalRecords = new ArrayList<>();
+    private List<Book> catalogue;
+    private MemberManager memberManager;
+    private boolean isSnapshotPending = false;
+    private PersistenceWorker persistenceWorker;
+
+    private boolean isJournalEnabled = false;
+    private int journalRecordCount = 0;
+    private String snapshotStamp;
+    private boolean hasJournaledMembers = false; // The journal holds member records not yet in the member store
+    private boolean isTolerantLoadEnabled = false;
+    private boolean isParallelLoadEnabled = false;
+    private int rejectedLineCount = 0;
+    private long lastLoadDurationNanos = 0;
+    private int lastLoadedBookCount = 0;
 
     /**
      * Constructs a {@code Storage} object with the specified file path and initializes the {@code ShelvesManager}.
@@ -68,6 +124,12 @@ public class Storage {
     //@@author WayneCh0y
     private Storage(String path) {
         this.filePath = path;
+        this.journalPath = path + JOURNAL_SUFFIX;
+        this.staleJournalPath = journalPath + STALE_SUFFIX;
+        this.backupPath = path + BACKUP_SUFFIX;
+        this.temporaryPath = path + TEMPORARY_SUFFIX;
+        this.rejectedPath = path + REJECTED_SUFFIX;
+        this.membersPath = path + MEMBERS_SUFFIX;
         shelvesManager = ShelvesManager.getShelvesManagerInstance();
     }
 
@@ -85,6 +147,66 @@ public class Storage {
         return instance;
     }
 
+    //@@author WayneCh0y
+    /**
+     * Switches this {@code Storage} to journal mode. Instead of rewriting the whole snapshot file,
+     * every mutation is appended as a single record to a journal file next to it, and the journal is
+     * folded back into the snapshot once it grows past {@value #COMPACTION_THRESHOLD} records.
+     * Members changed by a mutation are journaled too, one record each, rather than rewriting the member store.
+     */
+    public void enableJournal() {
+        isJournalEnabled = true;
+    }
+
+    //@@author WayneCh0y
+    /**
+     * Switches loading to tolerant mode. Instead of discarding the whole file at the first bad line,
+     * each line that cannot be read is appended to a rejected-lines file next to the storage file,
+     * together with its line number and the reason, and the rest of the file is loaded as usual.
+     */
+    public void enableTolerantLoad() {
+        isTolerantLoadEnabled = true;
+    }
+
+    //@@author WayneCh0y
+    /**
+     * Switches loading to parallel mode. The storage file is split into chunks of about
+     * {@value #LOAD_CHUNK_BYTES} bytes that are parsed on the common {@code ForkJoinPool}; shelving the
+     * books and linking them to their borrowers still happens afterwards, in file order, on one thread.
+     */
+    public void enableParallelLoad() {
+        isParallelLoadEnabled = true;
+    }
+
+    /**
+     * Moves disk writes off the caller's thread. Changes are queued, and a background worker writes
+     * everything queued in one go once the oldest unsaved change is {@code maxStalenessMillis} old.
+     * Pending changes are also written by {@link #flush()} and when the program shuts down.
+     * <p>
+     * While the worker is running, callers must hold {@link #getStateLock()} whenever they modify books,
+     * so the worker never saves a book midway through a change.
+     *
+     * @param maxStalenessMillis The longest time a change may wait before it is written to disk.
+     */
+    public void startBackgroundWriter(long maxStalenessMillis) {
+        if (persistenceWorker != null) {
+            return;
+        }
+        persistenceWorker = new PersistenceWorker(this::flush, maxStalenessMillis);
+        persistenceWorker.start();
+        Runtime.getRuntime().addShutdownHook(new Thread(this::flush));
+    }
+
+    /**
+     * Returns the lock that guards the catalogue against the background writer.
+     *
+     * @return The lock object.
+     */
+    @Override
+    public Object getStateLock() {
+        return stateLock;
+    }
+
     /**
      * Clears the contents of the storage file.
      * If the file cannot be cleared, an error message is printed to the console.
@@ -92,6 +214,7 @@ public class Storage {
     public void clearFile() {
         try {
             new FileWriter(filePath, false).close();
+            snapshotStamp = null;
             System.out.println(CLEAR_FILE_MESSAGE);
         } catch (IOException e) {
             System.out.println(FILE_CLEAR_FAIL_MESSAGE + e.getMessage());
@@ -101,92 +224,397 @@ public class Storage {
     //@@author WayneCh0y
     /**
      * Loads book data from the storage file into memory.
-     * If the file is corrupted or contains invalid data, the shelves are cleared and the file is wiped.
+     * If the file is missing or corrupted, the last good generation of the file, kept by
+     * {@link #writeToFile(List)}, is loaded instead and becomes the storage file again.
+     * If that is not possible either, the shelves are cleared and the file is wiped.
+     *
+     * How long the load took is available afterwards from {@link #getLastLoadDurationMillis()}.
      *
      * @param memberManager The {@code MemberManager} used to assign books to their borrowers.
      * @return A list of {@code Book} objects loaded from the file. Returns an empty list on failure.
      */
+    @Override
     public List<Book> loadFileContents(MemberManager memberManager) {
         assert filePath != null : "File path must be initialized before loading";
 
+        long startNanos = System.nanoTime();
+        List<Book> bookList = loadCatalogue(memberManager);
+        if (memberManager.hasUnsavedChanges()) {
+            writeMembers(); // Borrowers that were missing from the member store
+        }
+        lastLoadDurationNanos = System.nanoTime() - startNanos;
+        lastLoadedBookCount = bookList.size();
+        return bookList;
+    }
+
+    /**
+     * Returns how long the last call to {@link #loadFileContents(MemberManager)} took, including journal
+     * replay and shelving the books.
+     *
+     * @return The duration of the last load in milliseconds, or 0 if nothing has been loaded yet.
+     */
+    public long getLastLoadDurationMillis() {
+        return TimeUnit.NANOSECONDS.toMillis(lastLoadDurationNanos);
+    }
+
+    /**
+     * Returns the number of books returned by the last call to {@link #loadFileContents(MemberManager)}.
+     *
+     * @return The number of books loaded.
+     */
+    public int getLastLoadedBookCount() {
+        return lastLoadedBookCount;
+    }
+
+    private List<Book> loadCatalogue(MemberManager memberManager) {
+        this.memberManager = memberManager;
+        snapshotStamp = null;
+        hasJournaledMembers = false;
+        rejectedLineCount = 0;
+        loadMembers(memberManager);
+
         File file = new File(filePath);
-        if (!file.exists()) {
+        File backup = new File(backupPath);
+        if (!file.exists() && !backup.exists()) {
             return new ArrayList<>();
         }
 
-        try (Scanner scanner = new Scanner(file)) {
-            return loadBooks(scanner, memberManager);
-        } catch (FileNotFoundException e) {
+        Map<String, Book> booksByID;
+        try {
+            booksByID = loadBooks(file.exists() ? file : backup);
+        } catch (IOException | LeBookException e) {
             System.out.println(ERROR + e.getMessage());
-            return new ArrayList<>();
+            booksByID = recoverFromBackup(file, backup);
+            if (booksByID == null) {
+                handleCorruptedFile(e);
+                return new ArrayList<>();
+            }
+        }
+
+        replayJournal(booksByID);
+
+        List<Book> bookList = new ArrayList<>(booksByID.values());
+        boolean isReshelved = BookShelver.registerBooks(bookList, memberManager);
+        if (rejectedLineCount > 0) {
+            System.out.println(String.format(REJECTED_LINES_MESSAGE, rejectedLineCount, rejectedPath));
         }
+        if (rejectedLineCount > 0 || isReshelved) {
+            writeToFile(bookList); // Save the IDs actually shelved and drop lines that were quarantined
+        }
+        return bookList;
     }
 
     /**
-     * Reads book entries from the scanner and converts them into {@code Book} objects.
-     * If any entry is invalid or causes an exception, the shelves are reset and the file is cleared.
+     * Reads book entries from a snapshot file and converts them into {@code Book} objects.
+     * In parallel mode the lines are parsed on a {@code ForkJoinPool} first; either way the books are
+     * then checked for duplicate IDs and collected in file order on the calling thread.
+     * In tolerant mode, lines that cannot be read are quarantined instead of failing the load.
      *
-     * @param scanner        The {@code Scanner} to read lines from the file.
-     * @param memberManager  The {@code MemberManager} used to link borrowed books to their borrowers.
-     * @return A list of valid {@code Book} objects parsed from the file.
+     * @param file The snapshot file to read.
+     * @return The books in the file, keyed by book ID in catalogue order.
+     * @throws IOException     If the file cannot be read or a line is not in the storage format.
+     * @throws LeBookException If a line contains invalid book data or a duplicate ID.
      */
-    private List<Book> loadBooks(Scanner scanner, MemberManager memberManager) {
-        List<Book> bookList = new ArrayList<>();
-        List<String> idList = new ArrayList<>();
+    private Map<String, Book> loadBooks(File file) throws IOException, LeBookException {
+        DelimitedFileReader reader = DelimitedFileReader.open(file.toPath());
+        String stamp = toSnapshotStamp(reader.length(), reader.checksum());
+        List<ParsedChunk> parsedChunks = isParallelLoadEnabled
+                ? parseInParallel(reader.split(LOAD_CHUNK_BYTES))
+                : List.of(parseChunk(reader));
 
-        while (scanner.hasNext()) {
-            String line = scanner.nextLine();
+        Map<String, Book> booksByID = new LinkedHashMap<>();
+        Set<String> seenIDs = new HashSet<>();
+        List<String> rejectedLines = new ArrayList<>();
+        int lineOffset = 0;
+        for (ParsedChunk chunk : parsedChunks) {
+            for (ParsedLine line : chunk.lines) {
+                try {
+                    Book book = line.getBook();
+                    checkDuplicateID(book.getBookID(), seenIDs);
+                    booksByID.put(book.getBookID(), book);
+                } catch (IOException | LeBookException e) {
+                    if (!isTolerantLoadEnabled) {
+                        throw e;
+                    }
+                    rejectedLines.add(REJECTED_LINE_PREFIX + (lineOffset + line.lineNumber) + JOURNAL_SEPARATOR
+                            + e.getMessage() + JOURNAL_SEPARATOR + line.text);
+                }
+            }
+            lineOffset += chunk.lineCount;
+        }
+
+        quarantine(rejectedLines);
+        snapshotStamp = stamp;
+        return booksByID;
+    }
+
+    /**
+     * Parses the given chunks concurrently on the common {@code ForkJoinPool}, one task per chunk.
+     * Each task holds only its chunk.
+     *
+     * @param chunks Readers for consecutive chunks of the file.
+     * @return The parsed chunks, in file order.
+     */
+    private static List<ParsedChunk> parseInParallel(List<DelimitedFileReader> chunks) {
+        List<ForkJoinTask<ParsedChunk>> tasks = new ArrayList<>(chunks.size());
+        for (DelimitedFileReader chunk : chunks) {
+            tasks.add(ForkJoinPool.commonPool().submit(() -> parseChunk(chunk)));
+        }
 
+        List<ParsedChunk> parsedChunks = new ArrayList<>(tasks.size());
+        for (ForkJoinTask<ParsedChunk> task : tasks) {
+            parsedChunks.add(task.join());
+        }
+        return parsedChunks;
+    }
+
+    /**
+     * Parses every line of a chunk into a {@code Book}, keeping the error instead for lines that cannot be read.
+     * Touches no shared state, so chunks can be parsed on different threads.
+     *
+     * @param reader The reader for the chunk.
+     * @return The parsed lines of the chunk.
+     */
+    private static ParsedChunk parseChunk(DelimitedFileReader reader) {
+        List<ParsedLine> lines = new ArrayList<>();
+        while (reader.hasNextLine()) {
+            String[] fields = reader.nextFields(MAX_SPLIT_NUMBER);
             try {
-                Book book = parseBook(line, idList);
-                if (book.isBorrowed()) {
-                    attachBorrower(book, memberManager);
-                }
-                bookList.add(book);
+                lines.add(new ParsedLine(reader.getLineNumber(), parseBook(fields, reader), null, null));
             } catch (IOException | LeBookException e) {
-                handleCorruptedFile(e);
-                return new ArrayList<>();
+                lines.add(new ParsedLine(reader.getLineNumber(), null, e, reader.currentLine()));
             }
         }
+        return new ParsedChunk(lines, reader.getLineNumber());
+    }
 
-        return bookList;
+    /**
+     * Appends lines that could not be loaded to the rejected-lines file, so they can be repaired by hand.
+     *
+     * @param rejectedLines The rejected lines, each with its line number and the reason it was rejected.
+     * @throws IOException If the rejected-lines file cannot be written.
+     */
+    private void quarantine(List<String> rejectedLines) throws IOException {
+        rejectedLineCount += rejectedLines.size();
+        if (rejectedLines.isEmpty()) {
+            return;
+        }
+
+        try (BufferedWriter writer = new BufferedWriter(new FileWriter(rejectedPath, true))) {
+            for (String line : rejectedLines) {
+                writer.write(line);
+                writer.newLine();
+            }
+        }
+    }
+
+    /**
+     * Falls back to the last good generation of the storage file after the current one failed to load.
+     * The damaged file is removed and the backup is written back as the storage file.
+     *
+     * @param file    The storage file that failed to load.
+     * @param backup  The last good generation of the storage file.
+     * @return The books in the backup, or {@code null} if there is no usable backup.
+     */
+    private Map<String, Book> recoverFromBackup(File file, File backup) {
+        if (!file.exists() || !backup.exists()) {
+            return null;
+        }
+
+        try {
+            Map<String, Book> booksByID = loadBooks(backup);
+            System.out.println(RECOVERED_MESSAGE);
+            Files.delete(file.toPath());
+            Files.copy(backup.toPath(), file.toPath());
+            return booksByID;
+        } catch (IOException | LeBookException e) {
+            System.out.println(ERROR + e.getMessage());
+            return null;
+        }
+    }
+
+    /**
+     * Applies the records in the journal file, in order, to the books loaded from the snapshot.
+     * The journal starts with the stamp of the snapshot it extends. A journal stamped for another snapshot,
+     * such as one left behind by a crash after a new snapshot was saved but before the journal was removed,
+     * is not replayed but set aside in the stale journal file.
+     * A record that cannot be read is skipped and copied to the rejected-lines file with its line number and
+     * the reason, and replay carries on with the next record. If the journal cannot be read at all, or the
+     * rejected records cannot be copied, the journal is set aside in the stale journal file instead of being
+     * lost, and the records replayed so far are saved in the snapshot.
+     *
+     * @param booksByID The books loaded from the snapshot, keyed by book ID in catalogue order.
+     */
+    private void replayJournal(Map<String, Book> booksByID) {
+        File journal = new File(journalPath);
+        if (!journal.exists()) {
+            return;
+        }
+
+        journalRecordCount = 0;
+        try {
+            DelimitedFileReader reader = DelimitedFileReader.open(journal.toPath());
+            String[] header = reader.hasNextLine() ? reader.nextFields(JOURNAL_HEADER_FIELD_NUMBER) : null;
+            if (header == null || !header[JOURNAL_OPERATION_INDEX].equals(JOURNAL_SNAPSHOT)
+                    || !header[JOURNAL_STAMP_INDEX].equals(snapshotStamp)) {
+                System.out.println(ERROR + String.format(STALE_JOURNAL_MESSAGE, staleJournalPath));
+                setJournalAside();
+                return;
+            }
+
+            List<String> rejectedRecords = new ArrayList<>();
+            while (reader.hasNextLine()) {
+                try {
+                    applyJournalRecord(reader, booksByID);
+                    journalRecordCount++;
+                } catch (IOException | LeBookException e) {
+                    rejectedRecords.add(REJECTED_JOURNAL_PREFIX + reader.getLineNumber() + JOURNAL_SEPARATOR
+                            + e.getMessage() + JOURNAL_SEPARATOR + reader.currentLine());
+                }
+            }
+            quarantine(rejectedRecords); // The load then folds the journal into the snapshot
+        } catch (IOException e) {
+            System.out.println(ERROR + String.format(UNREADABLE_JOURNAL_MESSAGE, staleJournalPath, e.getMessage()));
+            setJournalAside();
+            writeToFile(new ArrayList<>(booksByID.values())); // Keep any records replayed before the failure
+        }
+    }
+
+    /**
+     * Moves the journal to the stale journal file, keeping it for repair by hand.
+     */
+    private void setJournalAside() {
+        try {
+            moveAtomically(Paths.get(journalPath), Paths.get(staleJournalPath));
+            journalRecordCount = 0;
+        } catch (IOException e) {
+            System.out.println(ERROR + e.getMessage());
+        }
     }
 
     /**
-     * Parses a single line of book data from the file and constructs a {@code Book} object.
+     * Reads the next journal record and applies it to the books loaded so far. A record is an operation
+     * followed by the book in file format, or a member record followed by the member as in the member store.
      *
-     * @param line    The line of text containing book information.
-     * @param idList  A list of book IDs encountered so far, used to check for duplicates.
+     * @param reader     The reader positioned before the journal record.
+     * @param booksByID  The books loaded so far, keyed by book ID in catalogue order.
+     * @throws IOException     If the record is not in the journal format.
+     * @throws LeBookException If the book in the record is invalid.
+     */
+    private void applyJournalRecord(DelimitedFileReader reader, Map<String, Book> booksByID)
+            throws IOException, LeBookException {
+        String[] fields = reader.nextFields();
+        String operation = fields[JOURNAL_OPERATION_INDEX];
+        if (operation.equals(JOURNAL_MEMBER) && fields.length == JOURNAL_MEMBER_FIELD_NUMBER) {
+            applyMemberRecord(Arrays.copyOfRange(fields, JOURNAL_OPERATION_INDEX + 1, fields.length), reader);
+            return;
+        }
+        if (fields.length < JOURNAL_FIELD_NUMBER) {
+            throw new IOException("Invalid journal format: " + reader.currentLine());
+        }
+
+        String[] bookFields = Arrays.copyOfRange(fields, JOURNAL_OPERATION_INDEX + 1, JOURNAL_FIELD_NUMBER);
+        Book book = parseBook(bookFields, reader);
+        String bookID = book.getBookID();
+
+        switch (operation) {
+        case JOURNAL_ADD:
+            Book existingBook = booksByID.get(bookID);
+            if (existingBook == null) {
+                booksByID.put(bookID, book);
+            } else {
+                copyStatus(book, existingBook);
+            }
+            break;
+        case JOURNAL_DELETE:
+            booksByID.remove(bookID);
+            break;
+        case JOURNAL_BORROW:
+        case JOURNAL_RETURN:
+            Book storedBook = booksByID.get(bookID);
+            if (storedBook != null) {
+                copyStatus(book, storedBook);
+            }
+            break;
+        default:
+            throw new IOException("Unknown journal operation: " + operation);
+        }
+    }
+
+    /**
+     * Applies a journaled member record over the member loaded from the member store, if any.
+     *
+     * @param fields  The member ID, name and borrowing history.
+     * @param reader  The reader the fields came from, used to report the offending line.
+     * @throws IOException If the member ID is not a number or the name is empty.
+     */
+    private void applyMemberRecord(String[] fields, DelimitedFileReader reader) throws IOException {
+        try {
+            int id = Integer.parseInt(fields[MEMBER_ID_INDEX]);
+            if (fields[MEMBER_NAME_INDEX].isEmpty()) {
+                throw new IOException("Invalid member format: " + reader.currentLine());
+            }
+            memberManager.restoreMember(id, fields[MEMBER_NAME_INDEX], toHistory(fields[MEMBER_HISTORY_INDEX]));
+            hasJournaledMembers = true;
+        } catch (NumberFormatException e) {
+            throw new IOException("Invalid member format: " + reader.currentLine());
+        }
+    }
+
+    private static List<String> toHistory(String history) {
+        return history.isEmpty() ? List.of() : Arrays.asList(history.split(MEMBER_HISTORY_SEPARATOR));
+    }
+
+    private static void copyStatus(Book source, Book target) {
+        target.setStatus(source.isBorrowed());
+        target.setReturnDueDate(source.getReturnDueDate());
+        target.setBorrowerName(source.getBorrowerName());
+    }
+
+    /**
+     * Constructs a {@code Book} object from the fields of a single line of book data.
+     * Only IDs that cannot be read, or whose genre is not registered, are rejected. An ID naming a shelf or
+     * slot the current configuration does not have is kept, and the book is moved to a free slot when it is
+     * shelved, so changing the shelf sizes never discards saved books.
+     *
+     * @param parts   The trimmed fields of the line, or {@code null} if the line had too few fields.
+     * @param reader  The reader the fields came from, used to report the offending line.
      * @return A {@code Book} object constructed from the parsed line.
      * @throws IOException       If the line format is invalid or incomplete.
-     * @throws LeBookException   If the book data is invalid or contains a duplicate ID.
+     * @throws LeBookException   If the book data is invalid.
      */
-    private Book parseBook(String line, List<String> idList) throws IOException, LeBookException {
-        String[] parts = line.split(SPLIT_REGEX);
-        if (parts.length < MAX_SPLIT_NUMBER) {
-            throw new IOException("Invalid data format: " + line);
+    private static Book parseBook(String[] parts, DelimitedFileReader reader) throws IOException, LeBookException {
+        if (parts == null) {
+            throw new IOException("Invalid data format: " + reader.currentLine());
         }
 
-        String title = parts[BOOK_TITLE_INDEX].trim();
-        String author = parts[BOOK_AUTHOR_INDEX].trim();
-        String status = parts[BOOK_STATUS_INDEX].trim();
-        String dueDateStr = parts[BOOK_DUE_DATE_INDEX].trim();
-        String shelfID = parts[BOOK_SHELF_INDEX].trim();
-        String borrower = parts[BORROWER_NAME_INDEX].trim();
+        String title = parts[BOOK_TITLE_INDEX];
+        String author = parts[BOOK_AUTHOR_INDEX];
+        String status = parts[BOOK_STATUS_INDEX];
+        String dueDateStr = parts[BOOK_DUE_DATE_INDEX];
+        String shelfID = parts[BOOK_SHELF_INDEX];
+        String borrower = parts[BORROWER_NAME_INDEX];
 
-        validateBookData(title, author, status, dueDateStr, shelfID, borrower, idList);
+        validateBookData(title, author, status, dueDateStr, shelfID, borrower);
+        long bookId = BookId.parse(shelfID);
+        if (bookId == BookId.NONE) {
+            throw new LeBookException(INVALID_BOOK_ID_MESSAGE + shelfID);
+        }
 
         boolean isBorrowed = status.equals(BORROWED_IDENTIFYER);
-        LocalDate dueDate = isBorrowed ? LocalDate.parse(dueDateStr) : null;
-        String genre = getGenreFromFile(shelfID);
+        LocalDate dueDate;
+        try {
+            dueDate = isBorrowed ? LocalDate.parse(dueDateStr) : null;
+        } catch (DateTimeParseException e) {
+            throw new LeBookException(TAMPERED_FILE_MESSAGE);
+        }
 
-        Book book = new Book(title, author, isBorrowed, dueDate, shelfID, borrower);
-        shelvesManager.addBook(title, author, genre);
-        return book;
+        // Saved as "R-0-1" whichever case the file used, so "r-0-1" is caught as a duplicate of it
+        return new Book(title, author, isBorrowed, dueDate, BookId.toString(bookId), borrower);
     }
 
     /**
-     * Validates individual fields of book data for correctness and duplication.
+     * Validates individual fields of book data for correctness.
      *
      * @param title     The title of the book.
      * @param author    The author of the book.
@@ -194,39 +622,101 @@ public class Storage {
      * @param dueDate   The due date (if borrowed).
      * @param id        The shelf ID of the book.
      * @param borrower  The name of the borrower (if borrowed).
-     * @param idList    The list of existing book IDs to check for duplicates.
-     * @throws LeBookException If any field is invalid or the ID is a duplicate.
+     * @throws LeBookException If any field is invalid.
      */
-    private void validateBookData(String title, String author, String status, String dueDate,
-                                  String id, String borrower, List<String> idList) throws LeBookException {
+    private static void validateBookData(String title, String author, String status, String dueDate,
+                                         String id, String borrower) throws LeBookException {
         if (title.isEmpty() || author.isEmpty() || 
                 status.isEmpty() || dueDate.isEmpty() ||
                 id.isEmpty() || borrower.isEmpty() || 
                 (!status.equals(BORROWED_IDENTIFYER) && !status.equals(NOT_BORROWED_IDENTIFYER))) {
             throw new LeBookException(TAMPERED_FILE_MESSAGE);
         }
+    }
 
-        if (idList.contains(id)) {
+    /**
+     * Checks that a book ID has not been seen before and records it.
+     *
+     * @param id      The shelf ID of the book.
+     * @param seenIDs The book IDs seen so far.
+     * @throws LeBookException If the ID is a duplicate.
+     */
+    private void checkDuplicateID(String id, Set<String> seenIDs) throws LeBookException {
+        if (!seenIDs.add(id)) {
             throw new LeBookException(DUPLICATE_BOOK_ID_MESSAGE);
         }
-
-        idList.add(id);
     }
 
+    //@@author WayneCh0y
     /**
-     * Assigns the specified {@code Book} to its borrower using the {@code MemberManager}.
+     * Reads the member store into the {@code MemberManager} in a single pass. Each line holds a member ID,
+     * a name and the comma-separated IDs of the books the member has borrowed.
+     * If the store cannot be read, loading stops there and members are rebuilt from the borrowed books.
      *
-     * @param book           The book that is borrowed.
-     * @param memberManager  The manager used to locate the borrower.
+     * @param memberManager The manager to add the members to.
      */
-    private void attachBorrower(Book book, MemberManager memberManager) {
-        String borrowerName = book.getBorrowerName();
-        if (borrowerName != null && !borrowerName.isEmpty()) {
-            Member borrower = memberManager.getMemberByName(borrowerName);
-            borrower.borrowBook(book);
+    private void loadMembers(MemberManager memberManager) {
+        Path membersFile = Paths.get(membersPath);
+        if (!Files.exists(membersFile)) {
+            return;
+        }
+
+        try {
+            DelimitedFileReader reader = DelimitedFileReader.open(membersFile);
+            while (reader.hasNextLine()) {
+                String[] fields = reader.nextFields(MEMBER_FIELD_NUMBER);
+                if (fields == null || fields[MEMBER_NAME_INDEX].isEmpty()) {
+                    throw new IOException("Invalid member format: " + reader.currentLine());
+                }
+                Member member = new Member(Integer.parseInt(fields[MEMBER_ID_INDEX]), fields[MEMBER_NAME_INDEX]);
+                for (String bookID : toHistory(fields[MEMBER_HISTORY_INDEX])) {
+                    member.recordBorrowing(bookID);
+                }
+                memberManager.addMember(member);
+            }
+        } catch (IOException | NumberFormatException e) {
+            System.out.println(ERROR + e.getMessage());
+        }
+    }
+
+    /**
+     * Rewrites the member store from the {@code MemberManager}, replacing the old file in a single rename.
+     * The store then holds every member, including those only recorded in the journal so far.
+     */
+    private void writeMembers() {
+        synchronized (stateLock) {
+            Path temporary = Paths.get(membersPath + TEMPORARY_SUFFIX);
+            try (FileOutputStream output = new FileOutputStream(temporary.toFile());
+                    BufferedWriter writer = new BufferedWriter(new OutputStreamWriter(output))) {
+                for (Member member : memberManager.getAllMembers()) {
+                    writer.write(toMemberLine(member));
+                    writer.newLine();
+                }
+                writer.flush();
+                output.getFD().sync();
+            } catch (IOException e) {
+                System.out.println(ERROR + e.getMessage());
+                return;
+            }
+
+            try {
+                moveAtomically(temporary, Paths.get(membersPath));
+                memberManager.markSaved();
+                hasJournaledMembers = false;
+            } catch (IOException e) {
+                System.out.println(ERROR + e.getMessage());
+            }
         }
     }
 
+    /**
+     * Formats a member as a line of the member store: the member ID, the name and the borrowing history.
+     */
+    private static String toMemberLine(Member member) {
+        return member.getId() + JOURNAL_SEPARATOR + member.getName() + JOURNAL_SEPARATOR
+                + String.join(MEMBER_HISTORY_SEPARATOR, member.getBorrowingHistory());
+    }
+
     /**
      * Handles the case of a corrupted file by logging the error, cleaning up shelves,
      * and clearing the file contents.
@@ -237,64 +727,355 @@ public class Storage {
         System.out.println(ERROR + e.getMessage());
         shelvesManager.cleanup();
         clearFile();
+        deleteJournal();
     }
 
     //@@author WayneCh0y
     /**
-     * Determines the genre of a book from its shelf ID.
+     * Rewrites the snapshot file with the given books. Since the snapshot then reflects every change,
+     * any journal records, written or pending, are discarded.
+     * <p>
+     * The books are written to a temporary file next to the snapshot and forced to disk first. The
+     * current snapshot is then linked or copied to the backup file, and the temporary file renamed over it
+     * in a single step, so a crash at any point leaves either the new snapshot or the previous one in place.
+     * If the journal holds member records, the member store is rewritten before the journal is dropped.
      *
-     * @param bookID The ID of the book, where the prefix indicates its genre.
-     * @return The genre name as a string, or an empty string if the genre is unknown.
-     */
-    private static String getGenreFromFile(String bookID) {
-        String identifier = bookID.split(BOOK_ID_SPLIT_REGEX, 2)[0];
-        switch (identifier) {
-        case ROMANCE_ID:
-            return ROMANCE;
-        case ADVENTURE_ID:
-            return ADVENTURE;
-        case ACTION_ID:
-            return ACTION;
-        case HORROR_ID:
-            return HORROR;
-        case MYSTERY_ID:
-            return MYSTERY;
-        case NONFICTION_ID:
-            return NONFICTION;
-        case SCIFI_ID:
-            return SCIFI;
-        default:
-            return "";
+     * @param bookList The full list of books in the catalogue.
+     */
+    @Override
+    public void writeToFile(List<Book> bookList) {
+        assert bookList != null : "Book list cannot be null";
+
+        synchronized (stateLock) {
+            isSnapshotPending = false;
+            pendingJournalRecords.clear();
+
+            File directory = new File(DIRECTORY_NAME);
+            if (!directory.exists()) {
+                directory.mkdirs();
+            }
+
+            Path snapshot = Paths.get(filePath);
+            Path temporary = Paths.get(temporaryPath);
+            String stamp;
+            try (FileOutputStream output = new FileOutputStream(temporaryPath);
+                    CheckedOutputStream checkedOutput = new CheckedOutputStream(output, new CRC32());
+                    BufferedWriter writer = new BufferedWriter(new OutputStreamWriter(checkedOutput))) {
+                for (Book book : bookList) {
+                    writer.write(book.toFileFormat());
+                    writer.newLine();
+                }
+                writer.flush();
+                output.getFD().sync();
+                stamp = toSnapshotStamp(output.getChannel().size(), checkedOutput.getChecksum().getValue());
+            } catch (IOException e) {
+                System.out.print(ERROR + e.getMessage());
+                return;
+            }
+
+            if (hasJournaledMembers) {
+                writeMembers(); // Replaying the journal again over the new member store changes nothing
+            }
+            try {
+                if (Files.exists(snapshot)) {
+                    linkOrCopy(snapshot, Paths.get(backupPath));
+                }
+                moveAtomically(temporary, snapshot);
+            } catch (IOException e) {
+                System.out.print(ERROR + e.getMessage());
+                return;
+            }
+            snapshotStamp = stamp;
+            deleteJournal();
+        }
+    }
+
+    /**
+     * Makes {@code target} a hard link to {@code source}, replacing it, or a copy where links are not supported.
+     */
+    private static void linkOrCopy(Path source, Path target) throws IOException {
+        Files.deleteIfExists(target);
+        try {
+            Files.createLink(target, source);
+        } catch (UnsupportedOperationException | IOException e) {
+            Files.copy(source, target, StandardCopyOption.REPLACE_EXISTING);
+        }
+    }
+
+    /**
+     * Returns the stamp of the current snapshot file, reading the file if it was not loaded or written here.
+     */
+    private String getSnapshotStamp() throws IOException {
+        if (snapshotStamp == null) {
+            DelimitedFileReader reader = DelimitedFileReader.open(Paths.get(filePath));
+            snapshotStamp = toSnapshotStamp(reader.length(), reader.checksum());
+        }
+        return snapshotStamp;
+    }
+
+    /**
+     * Identifies a generation of the snapshot file by its size and CRC-32 checksum.
+     */
+    private static String toSnapshotStamp(long length, long checksum) {
+        return length + STAMP_SEPARATOR + Long.toHexString(checksum);
+    }
+
+    /**
+     * Renames a file over another as a single step where the file system supports it.
+     */
+    static void moveAtomically(Path source, Path target) throws IOException {
+        try {
+            Files.move(source, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        } catch (AtomicMoveNotSupportedException e) {
+            Files.move(source, target, StandardCopyOption.REPLACE_EXISTING);
+        }
+    }
+
+    /**
+     * Writes out every queued change: the snapshot if one is due, otherwise the pending journal
+     * records in a single append. Changed members are appended to the journal with the other records
+     * when the journal is in use, so a borrow writes one member record; otherwise the member store is rewritten.
+     */
+    @Override
+    public void flush() {
+        synchronized (stateLock) {
+            boolean hasMemberChanges = memberManager != null && memberManager.hasUnsavedChanges();
+            if (hasMemberChanges && !isSnapshotPending && canJournal()) {
+                for (Member member : memberManager.getUnsavedMembers()) {
+                    pendingJournalRecords.add(JOURNAL_MEMBER + JOURNAL_SEPARATOR + toMemberLine(member));
+                }
+                memberManager.markSaved();
+                hasJournaledMembers = true;
+                hasMemberChanges = false;
+            }
+
+            if (isSnapshotPending) {
+                writeToFile(catalogue);
+            } else if (!pendingJournalRecords.isEmpty()) {
+                appendJournalRecords();
+            }
+            if (hasMemberChanges) {
+                writeMembers();
+            }
         }
     }
 
     //@@author WayneCh0y
-    public void writeToFile(List<Book> bookList) {
+    /**
+     * Exports the catalogue to a binary snapshot file, which is far smaller and faster to load than
+     * the text file. The text file is left untouched. This is an offline tool; the binary file is not
+     * kept up to date as the catalogue changes.
+     *
+     * @param bookList    The full list of books in the catalogue.
+     * @param binaryPath  The path of the binary snapshot file to write.
+     */
+    public void exportBinarySnapshot(List<Book> bookList, String binaryPath) {
         assert bookList != null : "Book list cannot be null";
 
-        File directory = new File(DIRECTORY_NAME);
-        if (!directory.exists()) {
-            directory.mkdirs();
+        try {
+            BinarySnapshot.write(bookList, Paths.get(binaryPath));
+        } catch (IOException e) {
+            System.out.println(ERROR + e.getMessage());
         }
+    }
 
-        try (BufferedWriter writer = new BufferedWriter(new FileWriter(filePath))) { // Overwrites file
+    /**
+     * Imports the catalogue from a binary snapshot file and makes it the stored catalogue by
+     * rewriting the text file from it. The imported books replace whatever was on the shelves, and are
+     * linked to their borrowers as when loading the text file. This is an offline tool, meant to be run
+     * in place of {@link #loadFileContents(MemberManager)}, not while a loaded catalogue is in use.
+     * If the snapshot cannot be read or contains duplicate IDs, nothing is imported.
+     *
+     * @param binaryPath     The path of the binary snapshot file to read.
+     * @param memberManager  The {@code MemberManager} used to link borrowed books to their borrowers.
+     * @return The imported books, or an empty list if the snapshot could not be imported.
+     */
+    public List<Book> importBinarySnapshot(String binaryPath, MemberManager memberManager) {
+        this.memberManager = memberManager;
+        List<Book> bookList;
+        try {
+            bookList = BinarySnapshot.read(Paths.get(binaryPath));
+            Set<String> seenIDs = new HashSet<>(bookList.size() * 2);
             for (Book book : bookList) {
-                writer.write(book.toFileFormat());
+                checkDuplicateID(book.getBookID(), seenIDs);
+            }
+        } catch (IOException | LeBookException e) {
+            System.out.println(ERROR + e.getMessage());
+            return new ArrayList<>();
+        }
+
+        shelvesManager.cleanup(); // The snapshot replaces the catalogue, so its IDs are restored onto empty shelves
+        BookShelver.registerBooks(bookList, memberManager);
+        writeToFile(bookList);
+        return bookList;
+    }
+
+    /**
+     * Persists a newly added book.
+     *
+     * @param book     The book that was added.
+     * @param bookList The full list of books in the catalogue, used when the snapshot has to be rewritten.
+     */
+    @Override
+    public void recordAddition(Book book, List<Book> bookList) {
+        recordChange(JOURNAL_ADD, book, bookList);
+    }
+
+    /**
+     * Persists the removal of a book.
+     *
+     * @param book     The book that was removed.
+     * @param bookList The full list of books in the catalogue, used when the snapshot has to be rewritten.
+     */
+    @Override
+    public void recordDeletion(Book book, List<Book> bookList) {
+        recordChange(JOURNAL_DELETE, book, bookList);
+    }
+
+    /**
+     * Persists the current borrowing status of a book, as a borrow or return record.
+     *
+     * @param book     The book whose status changed.
+     * @param bookList The full list of books in the catalogue, used when the snapshot has to be rewritten.
+     */
+    @Override
+    public void recordStatusChange(Book book, List<Book> bookList) {
+        recordChange(book.isBorrowed() ? JOURNAL_BORROW : JOURNAL_RETURN, book, bookList);
+    }
+
+    /**
+     * Queues a single mutation record for the journal, or a snapshot rewrite when journal mode is off
+     * or the journal is due for compaction. Without a background writer the change is written at once.
+     *
+     * @param operation The journal operation.
+     * @param book      The book the operation applies to.
+     * @param bookList  The full list of books in the catalogue.
+     */
+    private void recordChange(String operation, Book book, List<Book> bookList) {
+        assert book != null : "Book cannot be null";
+
+        synchronized (stateLock) {
+            catalogue = bookList;
+            if (!canJournal()) {
+                isSnapshotPending = true;
+                pendingJournalRecords.clear();
+            } else if (!isSnapshotPending) {
+                pendingJournalRecords.add(operation + JOURNAL_SEPARATOR + book.toFileFormat());
+            }
+        }
+
+        if (persistenceWorker == null) {
+            flush();
+        } else {
+            persistenceWorker.markDirty();
+        }
+    }
+
+    /**
+     * Returns whether the next change can be appended to the journal rather than rewriting the snapshot.
+     */
+    private boolean canJournal() {
+        int journalSize = journalRecordCount + pendingJournalRecords.size();
+        return isJournalEnabled && catalogue != null && new File(filePath).exists()
+                && journalSize < COMPACTION_THRESHOLD;
+    }
+
+    /**
+     * Appends all pending journal records to the journal file, starting a new journal with the stamp of the
+     * current snapshot. If the journal cannot be written, the snapshot is rewritten instead so no change is lost.
+     */
+    private void appendJournalRecords() {
+        boolean isNewJournal = !new File(journalPath).exists();
+        try (FileOutputStream output = new FileOutputStream(journalPath, true);
+                BufferedWriter writer = new BufferedWriter(new OutputStreamWriter(output))) {
+            if (isNewJournal) {
+                writer.write(JOURNAL_SNAPSHOT + JOURNAL_SEPARATOR + getSnapshotStamp());
                 writer.newLine();
             }
+            for (String record : pendingJournalRecords) {
+                writer.write(record);
+                writer.newLine();
+            }
+            writer.flush();
+            output.getFD().sync();
+            journalRecordCount += pendingJournalRecords.size();
+            pendingJournalRecords.clear();
         } catch (IOException e) {
             System.out.print(ERROR + e.getMessage());
+            writeToFile(catalogue);
+        }
+    }
+
+    /**
+     * Removes the journal file once its records are no longer needed.
+     */
+    private void deleteJournal() {
+        try {
+            Files.deleteIfExists(Paths.get(journalPath));
+            journalRecordCount = 0;
+        } catch (IOException e) {
+            System.out.println(ERROR + e.getMessage());
         }
     }
 
     //@@author WayneCh0y
     public void cleanup() {
+        if (persistenceWorker != null) {
+            persistenceWorker.stop();
+        }
         try {
             Files.deleteIfExists(Paths.get(filePath)); // Ensure file is deleted
             Files.createFile(Paths.get(filePath));     // Recreate empty file
+            Files.deleteIfExists(Paths.get(backupPath));
+            Files.deleteIfExists(Paths.get(temporaryPath));
+            Files.deleteIfExists(Paths.get(rejectedPath));
+            Files.deleteIfExists(Paths.get(staleJournalPath));
+            Files.deleteIfExists(Paths.get(membersPath));
+            Files.deleteIfExists(Paths.get(membersPath + TEMPORARY_SUFFIX));
+            deleteJournal();
             instance = null;
         } catch (IOException e) {
             System.out.println("ERROR: Failed to clear file - " + e.getMessage());
         }
     }
+
+    /**
+     * The outcome of parsing one line of the storage file: either a book or the error that prevented it.
+     */
+    private static class ParsedLine {
+        private final int lineNumber;
+        private final Book book;
+        private final Exception error;
+        private final String text;
+
+        ParsedLine(int lineNumber, Book book, Exception error, String text) {
+            this.lineNumber = lineNumber;
+            this.book = book;
+            this.error = error;
+            this.text = text;
+        }
+
+        Book getBook() throws IOException, LeBookException {
+            if (error instanceof IOException) {
+                throw (IOException) error;
+            }
+            if (error instanceof LeBookException) {
+                throw (LeBookException) error;
+            }
+            return book;
+        }
+    }
+
+    /**
+     * The parsed lines of one chunk, with line numbers counted from the start of the chunk.
+     */
+    private static class ParsedChunk {
+        private final List<ParsedLine> lines;
+        private final int lineCount;
+
+        ParsedChunk(List<ParsedLine> lines, int lineCount) {
+            this.lines = lines;
+            this.lineCount = lineCount;
+        }
+    }
 }
@@ -0,0 +1,69 @@
+package seedu.duke.storage;
+
+import seedu.duke.book.Book;
+import seedu.duke.member.MemberManager;
+
+import java.util.List;
+
+//@@author WayneCh0y
+/**
+ * Persists the catalogue and its members. {@code LeBook}, the commands and the undo manager depend only on
+ * this interface, so the data can live in the text file ({@link Storage}) or in an embedded database
+ * ({@link DatabaseStorage}) without any of them changing.
+ * <p>
+ * Every mutation is reported as a single change; each backend decides how much it has to write for it.
+ */
+public interface StorageBackend {
+    /**
+     * Loads the stored catalogue, places the books on their shelves and links borrowed books to their
+     * borrowers.
+     *
+     * @param memberManager The {@code MemberManager} to load members into.
+     * @return The stored books in catalogue order, or an empty list if nothing could be loaded.
+     */
+    List<Book> loadFileContents(MemberManager memberManager);
+
+    /**
+     * Replaces everything stored with the given books.
+     *
+     * @param bookList The full list of books in the catalogue.
+     */
+    void writeToFile(List<Book> bookList);
+
+    /**
+     * Persists a newly added book.
+     *
+     * @param book     The book that was added.
+     * @param bookList The full list of books in the catalogue.
+     */
+    void recordAddition(Book book, List<Book> bookList);
+
+    /**
+     * Persists the removal of a book.
+     *
+     * @param book     The book that was removed.
+     * @param bookList The full list of books in the catalogue.
+     */
+    void recordDeletion(Book book, List<Book> bookList);
+
+    /**
+     * Persists a change to a book's borrowing status, due date or borrower.
+     *
+     * @param book     The book whose status changed.
+     * @param bookList The full list of books in the catalogue.
+     */
+    void recordStatusChange(Book book, List<Book> bookList);
+
+    /**
+     * Writes out any changes that have been recorded but not yet saved.
+     */
+    void flush();
+
+    /**
+     * Returns the lock that guards the catalogue while changes are recorded and saved.
+     * Callers hold it while mutating books so saves never see a half-applied command.
+     *
+     * @return The lock object.
+     */
+    Object getStateLock();
+}
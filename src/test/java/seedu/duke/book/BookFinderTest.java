@@ -212,4 +212,29 @@ public class BookFinderTest {
         assertTrue(results.contains(book5));
         assertFalse(results.contains(book4)); // Ensure the NIL ID book isn't included
     }
+
+    // --- Tests for indexed searches ---
+
+    @Test
+    void findBooksByTitle_trigramIndex_sameResultsAsScan() {
+        TrigramIndex titleIndex = new TrigramIndex(Book::getTitle);
+        TrigramIndex authorIndex = new TrigramIndex(Book::getAuthor);
+        Book secondDune = new Book("DUNE", "Frank Herbert", false, null, "SCIF-0-1", null);
+        sampleBooks.add(secondDune);
+        for (Book book : sampleBooks) {
+            titleIndex.add(book);
+            authorIndex.add(book);
+        }
+        BookFinder indexedFinder = new BookFinder(sampleBooks, null, null, titleIndex, authorIndex);
+
+        for (String query : List.of("THE", "the ", "hobb", "e", "", "dune", "ord of th", "xyz", "Rings")) {
+            assertEquals(bookFinder.findBooksByTitle(query), indexedFinder.findBooksByTitle(query));
+        }
+        for (String query : List.of("tolkien", "r.r", "herb", "Jane Austen", "z")) {
+            assertEquals(bookFinder.findBooksByAuthor(query), indexedFinder.findBooksByAuthor(query));
+        }
+
+        titleIndex.remove(book1);
+        assertEquals(List.of(secondDune), indexedFinder.findBooksByTitle("dune"));
+    }
 }
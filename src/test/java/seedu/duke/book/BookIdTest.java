@@ -0,0 +1,68 @@
+package seedu.duke.book;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import seedu.duke.genre.GenreRegistry;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public class BookIdTest {
+
+    @BeforeEach
+    void setUp() {
+        GenreRegistry.resetGenreRegistry();
+    }
+
+    @Test
+    void parse_validID_packsGenreShelfAndSlot() {
+        long bookId = BookId.parse("SCIF-4-99");
+
+        assertEquals(GenreRegistry.getInstance().getByName("scifi").getIndex(), BookId.getGenreIndex(bookId));
+        assertEquals(4, BookId.getShelf(bookId));
+        assertEquals(99, BookId.getSlot(bookId));
+        assertEquals("SCIF-4-99", BookId.toString(bookId));
+        assertEquals("SCIF-4", BookId.toShelfString(bookId));
+    }
+
+    @Test
+    void parse_lowerCasePrefix_sameIdAsUpperCase() {
+        assertEquals(BookId.parse("SCIF-4-99"), BookId.parse("scif-4-99"));
+        assertEquals(BookId.parse("AD-0-1"), BookId.parse("Ad-0-1"));
+        assertEquals("R-0-1", BookId.toString(BookId.parse("r-0-1")));
+        assertEquals("romance", new Book("Emma", "Austen", false, null, "r-0-1", null).getGenre());
+    }
+
+    @Test
+    void parse_invalidID_returnsNone() {
+        assertEquals(BookId.NONE, BookId.parse(null));
+        assertEquals(BookId.NONE, BookId.parse("NIL"));
+        assertEquals(BookId.NONE, BookId.parse("X-0-0"));
+        assertEquals(BookId.NONE, BookId.parse("R-0"));
+        assertEquals(BookId.NONE, BookId.parse("R--1"));
+        assertEquals(BookId.NONE, BookId.parse("R-0-1-2"));
+        assertEquals(BookId.NONE, BookId.parse("R-0-99999999999"));
+    }
+
+    @Test
+    void getShelfKey_sameShelf_sameKey() {
+        assertEquals(BookId.getShelfKey(BookId.parse("R-1-0")), BookId.getShelfKey(BookId.parse("R-1-7")));
+        assertEquals(BookId.parse("R-1-0"), BookId.getShelfKey(BookId.parse("R-1-7")));
+    }
+
+    @Test
+    void of_outOfRange_throwsException() {
+        assertThrows(IllegalArgumentException.class, () -> BookId.of(0, -1, 0));
+        assertThrows(IllegalArgumentException.class, () -> BookId.of(0, 0, BookId.MAX_SLOT + 1));
+    }
+
+    @Test
+    void setBookID_packedID_textBuiltWhenAskedFor() {
+        Book book = new Book("Emma", "Austen");
+        book.setBookID(BookId.of(0, 2, 3));
+
+        assertEquals("romance", book.getGenre());
+        assertEquals("R-2-3", book.getBookID());
+        assertEquals(BookId.parse("R-2-3"), book.getId());
+    }
+}
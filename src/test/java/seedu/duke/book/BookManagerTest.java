@@ -5,12 +5,18 @@ import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
 import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
 import java.time.LocalDate;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
+import seedu.duke.exception.BookNotFoundException;
 import seedu.duke.exception.LeBookException;
 import seedu.duke.member.Member;
 import seedu.duke.member.MemberManager;
@@ -244,7 +250,7 @@ public class BookManagerTest {
         bookManager.addNewBookToCatalogue("Overdue Book","Wayne", "romance", "R-0-0");
         MemberManager memberManager = MemberManager.getInstance();
         bookManager.updateBookStatus("borrow", 0, "John", memberManager);
-        bookManager.getBooks().get(0).setReturnDueDate(LocalDate.now().minusDays(2));
+        bookManager.setBookStatus(bookManager.getBooks().get(0), true, LocalDate.now().minusDays(2), "John");
 
         String result = bookManager.listOverdueBooks();
         assertTrue(result.contains("Overdue Book"));
@@ -259,7 +265,7 @@ public class BookManagerTest {
         MemberManager memberManager = MemberManager.getInstance();
         bookManager.updateBookStatus("borrow", 0, "John", memberManager);
 
-        bookManager.getBooks().get(0).setReturnDueDate(LocalDate.now().minusDays(2));
+        bookManager.setBookStatus(bookManager.getBooks().get(0), true, LocalDate.now().minusDays(2), "John");
 
         String stats = bookManager.getStatistics();
         assertTrue(stats.contains("Total books copies: 2"));
@@ -311,4 +317,159 @@ public class BookManagerTest {
         assertEquals(0, QuantityManager.getQuantityManagerInstance().getHowManyBooks("The Great Gatsby",
                 "F. Scott Fitzgerald"));
     }
+
+    @Test
+    void getBookIndex_afterDeleteAndRestore_tracksPositions() throws BookNotFoundException {
+        bookManager.cleanup();
+        bookManager.addNewBookToCatalogue("Emma", "Jane Austen", "romance", "R-0-0");
+        bookManager.addNewBookToCatalogue("Dune", "Frank Herbert", "scifi", "SCIF-0-0");
+        bookManager.addNewBookToCatalogue("It", "Stephen King", "horror", "H-0-0");
+
+        Book emma = bookManager.getBookByID("R-0-0");
+        bookManager.deleteBook(0);
+        assertNull(bookManager.getBookByID("R-0-0"));
+        assertEquals(1, bookManager.getBookIndex("H-0-0"));
+        assertThrows(BookNotFoundException.class, () -> bookManager.getBookIndex("R-0-0"));
+
+        bookManager.restoreBook(emma);
+        assertEquals(2, bookManager.getBookIndex("R-0-0"));
+        assertEquals(0, bookManager.getBookIndex("SCIF-0-0"));
+        assertEquals(1, bookManager.getBookFinder().findBooksByShelfId("scif-0-0").size());
+        assertSame(bookManager.getBooks().get(0), bookManager.getBookByID("scif-0-0"));
+        assertEquals(2, bookManager.getBookIndex("r-0-0"));
+    }
+
+    @Test
+    void findBookQuantity_borrowReturnAndDelete_countsUpdated() {
+        bookManager.cleanup();
+        MemberManager memberManager = MemberManager.getInstance();
+        bookManager.addNewBookToCatalogue("Emma", "Jane Austen", "romance", "R-0-0");
+        bookManager.addNewBookToCatalogue("Emma", "Jane Austen", "romance", "R-0-1");
+        bookManager.addNewBookToCatalogue("Emma", "Someone Else", "romance", "R-0-2");
+
+        bookManager.updateBookStatus("borrow", 1, "Alice", memberManager);
+        assertEquals(2, BookManager.findBookQuantity("Emma", "Jane Austen"));
+        assertEquals(1, BookManager.findBookQuantityBorrowed("Emma", "Jane Austen"));
+        assertEquals(0, BookManager.findBookQuantityBorrowed("Emma", "Someone Else"));
+
+        bookManager.deleteBook(1);
+        assertEquals(1, BookManager.findBookQuantity("Emma", "Jane Austen"));
+        assertEquals(0, BookManager.findBookQuantityBorrowed("Emma", "Jane Austen"));
+
+        bookManager.updateBookStatus("borrow", 0, "Bob", memberManager);
+        bookManager.updateBookStatus("return", 0, null, memberManager);
+        assertEquals(0, BookManager.findBookQuantityBorrowed("Emma", "Jane Austen"));
+        memberManager.cleanup();
+    }
+
+    @Test
+    void getBooksInGenre_addDeleteAndRestore_partitionsKeptInOrder() {
+        bookManager.cleanup();
+        bookManager.addNewBookToCatalogue("Emma", "Jane Austen", "romance", "R-0-0");
+        bookManager.addNewBookToCatalogue("Dracula", "Bram Stoker", "horror", "H-0-0");
+        bookManager.addNewBookToCatalogue("Persuasion", "Jane Austen", "romance", "R-0-1");
+        Book emma = bookManager.getBooks().get(0);
+        Book persuasion = bookManager.getBooks().get(2);
+
+        assertEquals(List.of(emma, persuasion), bookManager.getBooksInGenre("ROMANCE"));
+        assertEquals(1, bookManager.countBooksInGenre("horror"));
+        assertEquals(0, bookManager.countBooksInGenre("mystery"));
+
+        bookManager.deleteBook(0);
+        bookManager.restoreBook(emma);
+        assertEquals(List.of(persuasion, emma), bookManager.getBooksInGenre("romance"));
+        assertEquals(bookManager.getBooksInGenre("romance"), bookManager.getBookFinder().findBooksByGenre("Romance"));
+        assertTrue(bookManager.getStatistics().contains("romance=2/500 adventure=0/500 action=0/500 horror=1/500"));
+    }
+
+    @Test
+    void listOverdueBooks_dueDatesChangedAndReturned_onlyOverdueListedInCatalogueOrder() {
+        bookManager.cleanup();
+        MemberManager memberManager = MemberManager.getInstance();
+        bookManager.addNewBookToCatalogue("Emma", "Jane Austen", "romance", "R-0-0");
+        bookManager.addNewBookToCatalogue("Dracula", "Bram Stoker", "horror", "H-0-0");
+        bookManager.addNewBookToCatalogue("Persuasion", "Jane Austen", "romance", "R-0-1");
+        Book emma = bookManager.getBooks().get(0);
+        Book persuasion = bookManager.getBooks().get(2);
+        bookManager.setBookStatus(persuasion, true, LocalDate.now().minusDays(1), "Bob");
+        bookManager.setBookStatus(emma, true, LocalDate.now().minusDays(3), "Alice");
+        bookManager.updateBookStatus("borrow", 1, "Carol", memberManager);
+
+        String overdue = bookManager.listOverdueBooks();
+        assertTrue(overdue.contains("1. Emma") && overdue.contains("2. Persuasion"));
+        assertFalse(overdue.contains("Dracula"));
+        assertTrue(bookManager.listBorrowedBooks().contains("2. Dracula"));
+
+        bookManager.setBookStatus(emma, true, LocalDate.now(), "Alice");
+        bookManager.updateBookStatus("return", 2, null, memberManager);
+        assertEquals("No books are currently overdue.", bookManager.listOverdueBooks());
+        assertTrue(bookManager.getStatistics().contains("Total books borrowed: 2"));
+
+        bookManager.deleteBook(0);
+        assertTrue(bookManager.getStatistics().contains("Total books borrowed: 1"));
+        memberManager.cleanup();
+    }
+
+    @Test
+    void getStatistics_addDeleteAndRestore_totalsAndUtilisationUpdated() {
+        bookManager.cleanup();
+        bookManager.addNewBookToCatalogue("Emma", "Jane Austen", "romance", "R-0-0");
+        bookManager.addNewBookToCatalogue("Emma", "Jane Austen", "romance", "R-0-1");
+        bookManager.addNewBookToCatalogue("Dracula", "Bram Stoker", "horror", "H-1-0");
+        Book dracula = bookManager.getBooks().get(2);
+
+        String stats = bookManager.getStatistics();
+        assertTrue(stats.contains("Total books copies: 3"));
+        assertTrue(stats.contains("Unique titles: 2"));
+        assertTrue(stats.contains("Shelf utilisation: R-0=2/100 H-1=1/100\n"));
+
+        bookManager.deleteBook(2);
+        bookManager.deleteBook(0);
+        assertEquals(Set.of("Emma"), bookManager.getUniqueTitles());
+        assertTrue(bookManager.getStatistics().contains("Shelf utilisation: R-0=1/100\n"));
+
+        bookManager.restoreBook(dracula);
+        assertEquals(2, bookManager.getUniqueTitleSize());
+        assertTrue(bookManager.getStatistics().contains("horror=1/500"));
+    }
+
+    @Test
+    void getBookFinder_partialWords_matchedAsSubstrings() {
+        bookManager.cleanup();
+        bookManager.addNewBookToCatalogue("Harry Potter", "J.K. Rowling", "adventure", "AD-0-0");
+        bookManager.addNewBookToCatalogue("Dracula", "Bram Stoker", "horror", "H-0-0");
+        BookFinder bookFinder = bookManager.getBookFinder();
+        Book harryPotter = bookManager.getBooks().get(0);
+
+        assertEquals(List.of(harryPotter), bookFinder.findBooksByTitle("arr"));
+        assertEquals(List.of(harryPotter), bookFinder.findBooksByTitle("RY POT"));
+        assertEquals(List.of(harryPotter), bookFinder.findBooksByTitle("ry"));
+        assertEquals(List.of(harryPotter), bookFinder.findBooksByAuthor("owl"));
+        assertEquals(2, bookFinder.findBooksByTitle("r").size());
+
+        bookManager.deleteBook(0);
+        assertTrue(bookFinder.findBooksByTitle("arr").isEmpty());
+    }
+
+    @Test
+    void deleteBook_borrowedBook_removedFromItsBorrower() {
+        bookManager.cleanup();
+        MemberManager memberManager = MemberManager.getInstance();
+        memberManager.cleanup();
+        bookManager.addNewBookToCatalogue("Emma", "Jane Austen", "romance", "R-0-0");
+        bookManager.addNewBookToCatalogue("Dracula", "Bram Stoker", "horror", "H-0-0");
+        bookManager.updateBookStatus("borrow", 0, "Alice", memberManager);
+        bookManager.updateBookStatus("borrow", 1, "Alice", memberManager);
+        Book emma = bookManager.getBooks().get(0);
+        Member alice = memberManager.getMemberByName("alice");
+        assertEquals(alice, emma.getBorrower());
+
+        bookManager.deleteBook(0);
+        bookManager.setBookStatus(bookManager.getBooks().get(0), true, LocalDate.now().minusDays(1), "Alice");
+
+        assertNull(emma.getBorrower());
+        assertEquals(1, alice.getOverdueBooks().size());
+        assertEquals("Dracula", alice.getOverdueBooks().get(0).getTitle());
+        memberManager.cleanup();
+    }
 }
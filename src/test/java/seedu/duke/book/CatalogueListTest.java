@@ -0,0 +1,73 @@
+package seedu.duke.book;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class CatalogueListTest {
+
+    @Test
+    void remove_manyBooks_positionsMatchArrayList() {
+        CatalogueList catalogue = new CatalogueList();
+        List<Book> expected = new ArrayList<>();
+        for (int i = 0; i < 100; i++) {
+            Book book = new Book("Title " + i, "Author");
+            catalogue.add(book);
+            expected.add(book);
+        }
+
+        // Enough removals to sweep out the tombstones more than once
+        for (int i = 0; i < 70; i++) {
+            int index = (i * 7) % expected.size();
+            assertEquals(expected.remove(index), catalogue.remove(index));
+            if (i % 10 == 0) {
+                Book book = new Book("Added " + i, "Author");
+                catalogue.add(book);
+                expected.add(book);
+            }
+        }
+
+        assertEquals(expected, catalogue);
+        for (int i = 0; i < expected.size(); i++) {
+            assertEquals(expected.get(i), catalogue.get(i));
+            assertEquals(i, catalogue.indexOf(expected.get(i)));
+        }
+    }
+
+    @Test
+    void iteratorRemove_everyOtherBook_remainingBooksInOrder() {
+        List<Book> books = new ArrayList<>();
+        for (int i = 0; i < 40; i++) {
+            books.add(new Book("Title " + i, "Author"));
+        }
+        CatalogueList catalogue = new CatalogueList(books);
+
+        boolean isRemoved = true;
+        for (Iterator<Book> iterator = catalogue.iterator(); iterator.hasNext(); isRemoved = !isRemoved) {
+            iterator.next();
+            if (isRemoved) {
+                iterator.remove();
+            }
+        }
+
+        assertEquals(20, catalogue.size());
+        for (int i = 0; i < 20; i++) {
+            assertEquals(books.get(i * 2 + 1), catalogue.get(i));
+        }
+        assertEquals(-1, catalogue.indexOf(books.get(0)));
+    }
+
+    @Test
+    void add_sameBookTwiceOrInMiddle_rejected() {
+        Book book = new Book("Emma", "Jane Austen");
+        CatalogueList catalogue = new CatalogueList(List.of(book));
+
+        assertThrows(IllegalArgumentException.class, () -> catalogue.add(book));
+        assertThrows(UnsupportedOperationException.class, () -> catalogue.add(0, new Book("Dune", "Herbert")));
+    }
+}
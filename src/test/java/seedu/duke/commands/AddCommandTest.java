@@ -51,5 +51,17 @@ public class AddCommandTest {
         assertEquals(0, library.getBooks().size());
         storage.cleanup();
     }
-}
 
+    @Test
+    public void undo_afterEarlierBookDeleted_removesTheAddedBook() throws LeBookException {
+        new AddCommand("Emma", "Jane Austen", "romance").execute(library, ui, storage, memberManager);
+        AddCommand addCommand = new AddCommand("Dracula", "Bram Stoker", "horror");
+        addCommand.execute(library, ui, storage, memberManager);
+        library.deleteBook(0);
+
+        addCommand.undo(library, ui, storage, memberManager);
+
+        assertEquals(0, library.getBooks().size());
+        storage.cleanup();
+    }
+}
@@ -3,8 +3,10 @@ package seedu.duke.commands;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import seedu.duke.book.Book;
+import seedu.duke.exception.LeBookException;
 import seedu.duke.library.Library;
 import seedu.duke.member.MemberManager;
+import seedu.duke.parser.Parser;
 import seedu.duke.storage.Storage;
 import seedu.duke.ui.Ui;
 
@@ -43,6 +45,17 @@ public class DeleteByIDCommandTest {
         assertEquals(0, library.getBooks().size());
     }
 
+    @Test
+    public void testExecute_parsedLowerCaseIdWithLeadingZeros_bookDeleted() throws LeBookException {
+        library.addNewBookToCatalogue("Harry Potter", "Rowling", "romance");
+        library.addNewBookToShelf("Harry Potter", "Rowling", "romance");
+        assertEquals("R-0-0", library.getBooks().get(0).getBookID());
+
+        Parser.parse("delete id/r-00-0").execute(library, ui, storage, memberManager);
+
+        assertEquals(0, library.getBooks().size());
+    }
+
     @Test
     public void testExecute_invalidID_noBookDeleted() {
         DeleteByIDCommand command = new DeleteByIDCommand("INVALID-ID");
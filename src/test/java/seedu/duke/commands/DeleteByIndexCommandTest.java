@@ -84,6 +84,26 @@ public class DeleteByIndexCommandTest {
         storage.cleanup();
     }
 
+    @Test
+    public void testUndo_deletedFromMiddle_restoredAtEnd() {
+        library.addNewBookToCatalogue("The Hobbit", "J.R.R. Tolkien", "adventure");
+        library.addNewBookToShelf("The Hobbit", "J.R.R. Tolkien", "adventure");
+        library.addNewBookToCatalogue("Emma", "Jane Austen", "romance");
+        library.addNewBookToShelf("Emma", "Jane Austen", "romance");
+        library.addNewBookToCatalogue("Dune", "Frank Herbert", "scifi");
+        library.addNewBookToShelf("Dune", "Frank Herbert", "scifi");
+
+        DeleteByIndexCommand deleteCommand = new DeleteByIndexCommand(1);
+        deleteCommand.execute(library, ui, storage, memberManager);
+        deleteCommand.undo(library, ui, storage, memberManager);
+
+        assertEquals("The Hobbit", library.getBooks().get(0).getTitle());
+        assertEquals("Dune", library.getBooks().get(1).getTitle());
+        assertEquals("Emma", library.getBooks().get(2).getTitle());
+        assertEquals("R-0-0", library.getBooks().get(2).getBookID());
+        storage.cleanup();
+    }
+
     @Test
     public void testUndo_noDeletedBook_noRestoration() {
         DeleteByIndexCommand deleteCommand = new DeleteByIndexCommand(0);
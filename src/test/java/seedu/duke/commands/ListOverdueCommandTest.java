@@ -37,9 +37,7 @@ public class ListOverdueCommandTest {
         library.addNewBookToShelf("Old Book", "Author A", "adventure");
 
         Book overdueBook = library.getBooks().get(0);
-        overdueBook.setStatus(true);
-        overdueBook.setBorrowerName("Alice");
-        overdueBook.setReturnDueDate(LocalDate.now().minusDays(5)); // Overdue
+        library.getBookManager().setBookStatus(overdueBook, true, LocalDate.now().minusDays(5), "Alice"); // Overdue
 
         ListOverdueCommand overdueCommand = new ListOverdueCommand();
         assertDoesNotThrow(() -> overdueCommand.execute(library, ui, storage, memberManager));
@@ -5,6 +5,7 @@ import org.junit.jupiter.api.Test;
 import seedu.duke.book.Book;
 import seedu.duke.exception.LeBookException;
 import seedu.duke.library.Library;
+import seedu.duke.member.Member;
 import seedu.duke.member.MemberManager;
 import seedu.duke.storage.Storage;
 import seedu.duke.ui.Ui;
@@ -17,6 +18,7 @@ import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
 
 public class UpdateStatusCommandTest {
 
@@ -33,6 +35,7 @@ public class UpdateStatusCommandTest {
         storage = Storage.getInstance("data/books.txt");
         memberManager = MemberManager.getInstance();
         library.cleanup(); // Reset singleton state
+        memberManager.cleanup();
     }
 
     @Test
@@ -89,6 +92,28 @@ public class UpdateStatusCommandTest {
         storage.cleanup();
     }
 
+    @Test
+    public void testUndo_borrowCommand_borrowingHistoryEntryRemoved() throws LeBookException {
+        library.addNewBookToCatalogue("The Hobbit", "J.R.R. Tolkien", "adventure");
+        library.addNewBookToShelf("The Hobbit", "J.R.R. Tolkien", "adventure");
+        Book book = library.getBooks().get(0);
+
+        new UpdateStatusCommand("borrow", 0, "Alice").execute(library, ui, storage, memberManager);
+        new UpdateStatusCommand("return", 0, "Alice").execute(library, ui, storage, memberManager);
+        UpdateStatusCommand borrowCommand = new UpdateStatusCommand("borrow", 0, "Alice");
+        borrowCommand.execute(library, ui, storage, memberManager);
+        Member alice = memberManager.getMemberByName("Alice");
+        assertSame(alice, book.getBorrower());
+        assertEquals(List.of(book.getBookID(), book.getBookID()), alice.getBorrowingHistory());
+
+        borrowCommand.undo(library, ui, storage, memberManager);
+
+        assertNull(book.getBorrower());
+        assertEquals(List.of(book.getBookID()), alice.getBorrowingHistory());
+        assertTrue(alice.getOverdueBooks().isEmpty());
+        storage.cleanup();
+    }
+
     @Test
     public void testUndo_returnCommand_bookRestored() throws LeBookException {
         // Add and borrow a book
@@ -109,6 +134,8 @@ public class UpdateStatusCommandTest {
         assertTrue(book.isBorrowed());
         assertEquals("Alice", book.getBorrowerName());
         assertNotNull(book.getReturnDueDate());
+        assertSame(memberManager.getMemberByName("Alice"), book.getBorrower());
+        assertEquals(1, memberManager.getMemberByName("Alice").getBorrowingHistory().size());
         storage.cleanup();
     }
 }
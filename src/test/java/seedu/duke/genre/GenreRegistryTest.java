@@ -0,0 +1,75 @@
+package seedu.duke.genre;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import seedu.duke.book.Book;
+import seedu.duke.shelving.ShelvesManager;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public class GenreRegistryTest {
+    private GenreRegistry genreRegistry;
+
+    @BeforeEach
+    void setUp() {
+        GenreRegistry.resetGenreRegistry();
+        ShelvesManager.resetShelvesManager();
+        genreRegistry = GenreRegistry.getInstance();
+    }
+
+    @AfterEach
+    void tearDown() {
+        GenreRegistry.resetGenreRegistry();
+        ShelvesManager.resetShelvesManager();
+    }
+
+    @Test
+    void getInstance_builtInGenres_foundByNamePrefixAndBookID() {
+        assertEquals(7, genreRegistry.size());
+        Genre romance = genreRegistry.getByName("Romance");
+        assertEquals("R", romance.getIdPrefix());
+        assertSame(romance, genreRegistry.getByIdPrefix("R"));
+        assertSame(romance, genreRegistry.getByBookID("R-0-1"));
+        assertEquals("scifi", genreRegistry.getByBookID("SCIF-4-99").getName());
+        assertSame(romance, genreRegistry.getByBookID("r-0-1"));
+        assertEquals("scifi", genreRegistry.getByBookID("scif-0-0").getName());
+        assertSame(romance, genreRegistry.getByIdPrefix("r"));
+        assertNull(genreRegistry.getByBookID("NIL"));
+        assertNull(genreRegistry.getByBookID("X-0-0"));
+    }
+
+    @Test
+    void register_newGenre_shelvedAndNamedLikeBuiltInGenres() {
+        Genre fantasy = genreRegistry.register("Fantasy", "F");
+
+        assertEquals(7, fantasy.getIndex());
+        assertEquals("fantasy", fantasy.getName());
+        ShelvesManager shelvesManager = ShelvesManager.getShelvesManagerInstance();
+        assertEquals("F-0-0", shelvesManager.getBookId("fantasy"));
+        shelvesManager.addBook("The Hobbit", "Tolkien", "fantasy");
+        assertEquals("F-0-1", shelvesManager.getBookId("fantasy"));
+        assertEquals("fantasy", new Book("The Hobbit", "Tolkien", false, null, "F-0-0", null).getGenre());
+    }
+
+    @Test
+    void register_lowerCasePrefix_storedUpperCased() {
+        Genre fantasy = genreRegistry.register("Fantasy", "f");
+
+        assertEquals("F", fantasy.getIdPrefix());
+        assertSame(fantasy, genreRegistry.getByBookID("F-0-0"));
+        assertEquals("F-0-0", ShelvesManager.getShelvesManagerInstance().getBookId("fantasy"));
+    }
+
+    @Test
+    void register_usedNameOrPrefix_throwsException() {
+        assertThrows(IllegalArgumentException.class, () -> genreRegistry.register("romance", "RO"));
+        assertThrows(IllegalArgumentException.class, () -> genreRegistry.register("poetry", "R"));
+        assertThrows(IllegalArgumentException.class, () -> genreRegistry.register("poetry", "r"));
+        assertThrows(IllegalArgumentException.class, () -> genreRegistry.register("poetry", "P-O"));
+        assertEquals(7, genreRegistry.size());
+    }
+}
@@ -5,6 +5,7 @@ import org.junit.jupiter.api.Test;
 import seedu.duke.book.Book;
 
 import java.time.LocalDate;
+import java.util.List;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
@@ -35,6 +36,47 @@ public class MemberManagerTest {
         assertSame(member1, member2);
     }
 
+    @Test
+    void getMemberByName_differentCase_sameMemberFoundByNameAndId() {
+        memberManager.cleanup();
+        Member member = memberManager.getMemberByName("Bob");
+        memberManager.addMember(new Member(7, "Dana"));
+
+        assertSame(member, memberManager.getMemberByName("bOB"));
+        assertSame(member, memberManager.getMemberById(member.getId()));
+        assertEquals("Dana", memberManager.getMemberByName("DANA").getName());
+        assertEquals(8, memberManager.getMemberByName("Eve").getId());
+        assertEquals(3, memberManager.getAllMembers().size());
+    }
+
+    @Test
+    void getUnsavedMembers_someMembersChanged_onlyThoseListed() {
+        memberManager.cleanup();
+        memberManager.addMember(new Member(1, "Alice"));
+        memberManager.addMember(new Member(2, "Bob"));
+        Member carol = memberManager.getMemberByName("Carol");
+        Member alice = memberManager.getMemberById(1);
+        memberManager.recordBorrowing(alice, new Book("Emma", "Jane Austen"));
+
+        assertEquals(List.of(carol, alice), memberManager.getUnsavedMembers());
+        memberManager.markSaved();
+        assertTrue(memberManager.getUnsavedMembers().isEmpty());
+    }
+
+    @Test
+    void restoreMember_storedRecord_historyReplacedWithoutMarkingUnsaved() {
+        memberManager.cleanup();
+        memberManager.addMember(new Member(1, "Alice"));
+
+        memberManager.restoreMember(1, "Alice", List.of("R-0-0", "H-0-1"));
+        memberManager.restoreMember(4, "Dana", List.of());
+
+        assertEquals(List.of("R-0-0", "H-0-1"), memberManager.getMemberById(1).getBorrowingHistory());
+        assertEquals("Dana", memberManager.getMemberById(4).getName());
+        assertEquals(5, memberManager.getMemberByName("Eve").getId());
+        assertEquals(1, memberManager.getUnsavedMembers().size());
+    }
+
     @Test
     void testListMembersWithOverdueBooks_noOverdue() {
         memberManager.cleanup();
@@ -8,6 +8,7 @@ import java.time.LocalDate;
 import java.util.List;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
 public class MemberTest {
@@ -44,6 +45,17 @@ public class MemberTest {
         assertEquals("Harry Potter", overdueBooks.get(0).getTitle());
     }
 
+    @Test
+    void testRemoveBorrowing() {
+        member.recordBorrowing("R-0-0");
+        member.recordBorrowing("H-0-1");
+        member.recordBorrowing("R-0-0");
+
+        assertTrue(member.removeBorrowing("R-0-0"));
+        assertEquals(List.of("R-0-0", "H-0-1"), member.getBorrowingHistory());
+        assertFalse(member.removeBorrowing("AD-0-0"));
+    }
+
     @Test
     void testToString() {
         assertEquals("John", member.toString());
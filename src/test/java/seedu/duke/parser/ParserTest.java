@@ -155,6 +155,16 @@ public class ParserTest {
                 , exception.getMessage());
     }
 
+    @Test
+    void testParseDeleteByIDCommand_unknownGenreOrBadNumber() {
+        Exception genre = assertThrows(LeBookException.class, () -> Parser.parse("delete id/X-0-0"));
+        assertTrue(genre.getMessage().startsWith("Invalid genre."));
+        Exception number = assertThrows(LeBookException.class, () -> Parser.parse("delete id/R-0-x"));
+        assertEquals("Invalid format. It should be: delete id/GENRE-SHELFNUM-SLOTNUM, e.g R-0-0"
+                , number.getMessage());
+        assertThrows(LeBookException.class, () -> Parser.parse("delete id/R-0-1-2"));
+    }
+
 
     //@@author
 
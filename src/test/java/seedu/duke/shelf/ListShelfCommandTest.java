@@ -2,7 +2,6 @@ package seedu.duke.shelf;
 
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
-import seedu.duke.book.Book;
 import seedu.duke.shelving.shelves.Shelf;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
@@ -21,9 +20,11 @@ public class ListShelfCommandTest {
     }
 
     @Test
-    void listShelf_allDummyBooks_returnsEmptyString() {
-        shelf.getShelfBooks().add(new Book("Title1", "duMmY"));
-        shelf.getShelfBooks().add(new Book("Title2", "duMmY"));
+    void listShelf_allBooksDeleted_returnsNoBooksMessage() {
+        shelf.addBookToShelf("Title1", "Author1");
+        shelf.addBookToShelf("Title2", "Author2");
+        shelf.deleteBookFromShelf(0);
+        shelf.deleteBookFromShelf(1);
 
         assertEquals("There are no books on this shelf!", shelf.listShelf());
     }
@@ -4,9 +4,13 @@ package seedu.duke.shelf;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
+import seedu.duke.exception.SectionFullException;
+import seedu.duke.shelving.shelves.Shelf;
 import seedu.duke.shelving.shelves.Shelves;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
 
@@ -49,4 +53,59 @@ public class ShelvesTest {
         assertEquals("Invalid Shelf Number!", error.getMessage());
     }
 
+    @Test
+    public void addBookToSection_afterDeleteFromFullSection_reusesFreedSlot() {
+        for (int i = 0; i < Shelves.MAX_SHELVES_PER_GENRE * Shelf.MAX_BOOKS_ON_SHELF; i++) {
+            shelves.addBookToSection("Book " + i, "Author");
+        }
+        assertTrue(shelves.isFull());
+        assertThrows(SectionFullException.class, () -> shelves.addBookToSection("Extra", "Author"));
+
+        shelves.deleteBookFromSection(2, 7);
+
+        assertFalse(shelves.isFull());
+        assertEquals("R-2-7", shelves.getBookID());
+        assertEquals("\nNow you have 100 books on the Shelf: R-2", shelves.addBookToSection("Extra", "Author"));
+        assertEquals("All shelves are Full!", shelves.getBookID());
+    }
+
+    @Test
+    public void addBookToSection_growableSectionFull_addsShelfAndKeepsIDs() {
+        Shelves growable = new Shelves("R", 2, 3, 10);
+        for (int i = 0; i < 6; i++) {
+            growable.addBookToSection("Book " + i, "Author");
+        }
+        assertFalse(growable.isFull());
+        assertEquals("R-2-0", growable.getBookID());
+
+        assertEquals("\nNow you have 1 books on the Shelf: R-2", growable.addBookToSection("Extra", "Author"));
+        assertEquals(3, growable.getShelfCount());
+        assertTrue(growable.listShelf(2).contains("Extra"));
+
+        growable.deleteBookFromSection(2, 0);
+        assertEquals("R-2-0", growable.getBookID());
+    }
+
+    @Test
+    public void restoreBookToSection_missingShelf_growsOnlyWhenAllowed() {
+        assertFalse(shelves.restoreBookToSection(5, 0, "Late", "Author"));
+
+        Shelves growable = new Shelves("R", 1, 3, 10);
+        assertTrue(growable.restoreBookToSection(3, 2, "Late", "Author"));
+        assertEquals(4, growable.getShelfCount());
+        assertFalse(growable.restoreBookToSection(3, 2, "Taken", "Author"));
+        assertFalse(growable.restoreBookToSection(0, 3, "No such slot", "Author"));
+        assertEquals("R-0-0", growable.getBookID());
+    }
+
+    @Test
+    public void restoreBookToSection_shelfPastMaximum_rejectedWithoutGrowing() {
+        Shelves growable = new Shelves("R", 1, 3, 10);
+
+        assertFalse(growable.restoreBookToSection(9_999_999, 0, "Corrupt", "Author"));
+        assertFalse(growable.restoreBookToSection(10, 0, "Corrupt", "Author"));
+        assertEquals(1, growable.getShelfCount());
+        assertTrue(growable.restoreBookToSection(9, 0, "Last", "Author"));
+        assertEquals(10, growable.getShelfCount());
+    }
 }
@@ -7,9 +7,6 @@ import seedu.duke.book.Book;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
-import java.lang.reflect.Field;
-import java.time.LocalDate;
-import java.util.ArrayList;
 import java.util.List;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
@@ -19,27 +16,11 @@ public class DeleteTests {
     private Shelf shelf;
 
     @BeforeEach
-    public void setup() throws NoSuchFieldException, IllegalAccessException {
+    public void setup() {
         shelf = new Shelf(0, "R");
-        List<Book> books = new ArrayList<>();
-        Book book1 = new Book("Harry Potter", "J.K Rowling", false, LocalDate.of(2025,
-                4, 15), "R-0-0", "john");
-        Book book2 = new Book("Jerry Potter", "J.K Howling", false, LocalDate.of(2024,
-                4, 15), "R-0-1", "amy");
-        Book book3 = new Book("Garry Potter", "J.K Dowling", false, LocalDate.of(2023,
-                4, 15), "R-0-2",  "bob");
-        books.add(book1);
-        books.add(book2);
-        books.add(book3);
-
-        Field shelfField = Shelf.class.getDeclaredField("shelfBooks");
-        shelfField.setAccessible(true);
-
-        Field booksNumField = Shelf.class.getDeclaredField("booksCurrentlyOnShelf");
-        booksNumField.setAccessible(true);
-
-        shelfField.set(shelf, books);
-        booksNumField.set(shelf, 3);
+        shelf.addBookToShelf("Harry Potter", "J.K Rowling");
+        shelf.addBookToShelf("Jerry Potter", "J.K Howling");
+        shelf.addBookToShelf("Garry Potter", "J.K Dowling");
     }
 
     @Test
@@ -47,8 +28,19 @@ public class DeleteTests {
         shelf.deleteBookFromShelf(0);
         List<Book> books = shelf.getShelfBooks();
         Book book = books.get(0);
-        assertEquals("duMmY", book.getTitle(), "Book title should be 'duMmY'");
+        assertEquals("Jerry Potter", book.getTitle(), "Deleted book should leave the shelf");
         assertEquals(2, shelf.getBooksCurrentlyOnShelf());
+        assertEquals("R-0-0", shelf.getBookId(), "Freed slot should be reused first");
+    }
+
+    @Test
+    public void deleteBookFromShelf_thenRestoreToSlot_bookBackInItsSlot() {
+        shelf.deleteBookFromShelf(1);
+        shelf.addBookToSlot("Jerry Potter", "J.K Howling", 1);
+
+        assertEquals("R-0-1", shelf.getShelfBooks().get(1).getBookID());
+        assertEquals("R-0-3", shelf.getBookId());
+        assertEquals("Slot R-0-1 is not free!", shelf.addBookToSlot("Other", "Author", 1));
     }
 
     @Test
@@ -0,0 +1,102 @@
+package seedu.duke.storage;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import seedu.duke.book.Book;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class BinarySnapshotTest {
+    private static final Path SNAPSHOT_PATH = Paths.get("data/test_snapshot.bin");
+    private static final int MAGIC = 0x4C42534E;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        Files.createDirectories(SNAPSHOT_PATH.getParent());
+    }
+
+    @AfterEach
+    void tearDown() throws IOException {
+        Files.deleteIfExists(SNAPSHOT_PATH);
+    }
+
+    @Test
+    void write_thenRead_sameBooksAndNoTemporaryFileLeft() throws IOException {
+        List<Book> books = List.of(
+                new Book("The Hobbit", "J.R.R. Tolkien", true, LocalDate.of(2025, 4, 1), "AD-0-0", "Alice"),
+                new Book("Dune", "Frank Herbert", false, null, "SCIF-3-42", null));
+
+        BinarySnapshot.write(books, SNAPSHOT_PATH);
+        List<Book> read = BinarySnapshot.read(SNAPSHOT_PATH);
+
+        assertEquals(2, read.size());
+        assertEquals(books.get(0).toFileFormat(), read.get(0).toFileFormat());
+        assertEquals(books.get(1).toFileFormat(), read.get(1).toFileFormat());
+        assertFalse(Files.exists(Paths.get(SNAPSHOT_PATH + ".tmp")));
+    }
+
+    @Test
+    void write_thenRead_idsReadByBookIdOrKeptWhole() throws IOException {
+        List<Book> books = List.of(
+                new Book("Emma", "Jane Austen", false, null, "r-00-7", null),
+                new Book("Dracula", "Bram Stoker", false, null, "NIL", null));
+
+        BinarySnapshot.write(books, SNAPSHOT_PATH);
+        List<Book> read = BinarySnapshot.read(SNAPSHOT_PATH);
+
+        assertEquals("R-0-7", read.get(0).getBookID());
+        assertEquals("NIL", read.get(1).getBookID());
+    }
+
+    @Test
+    void read_stringLengthPastEndOfFile_throwsIOException() throws IOException {
+        writeHeaderAnd(new int[] {1, 1_000_000_000});
+
+        assertThrows(IOException.class, () -> BinarySnapshot.read(SNAPSHOT_PATH));
+    }
+
+    @Test
+    void read_negativeCount_throwsIOException() throws IOException {
+        writeHeaderAnd(new int[] {-1});
+
+        assertThrows(IOException.class, () -> BinarySnapshot.read(SNAPSHOT_PATH));
+    }
+
+    @Test
+    void read_bookCountPastEndOfFile_throwsIOException() throws IOException {
+        writeHeaderAnd(new int[] {0, Integer.MAX_VALUE});
+
+        assertThrows(IOException.class, () -> BinarySnapshot.read(SNAPSHOT_PATH));
+    }
+
+    /**
+     * Writes a snapshot header followed by the given values as variable-length integers.
+     */
+    private static void writeHeaderAnd(int[] values) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        DataOutputStream out = new DataOutputStream(bytes);
+        out.writeInt(MAGIC);
+        out.writeShort(1);
+        for (int value : values) {
+            int remaining = value;
+            while ((remaining & ~0x7F) != 0) {
+                out.writeByte((remaining & 0x7F) | 0x80);
+                remaining >>>= 7;
+            }
+            out.writeByte(remaining);
+        }
+        Files.write(SNAPSHOT_PATH, bytes.toByteArray());
+    }
+}
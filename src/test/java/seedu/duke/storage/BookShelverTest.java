@@ -0,0 +1,63 @@
+package seedu.duke.storage;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import seedu.duke.book.Book;
+import seedu.duke.member.MemberManager;
+import seedu.duke.shelving.ShelvesManager;
+import seedu.duke.shelving.shelves.Shelf;
+import seedu.duke.shelving.shelves.Shelves;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class BookShelverTest {
+
+    @BeforeEach
+    void setUp() {
+        ShelvesManager.resetShelvesManager();
+        MemberManager.getInstance().cleanup();
+    }
+
+    @Test
+    void registerBooks_slotTaken_bookGivenFreeSlotIdAndDeletesCleanly() {
+        Book emma = new Book("Emma", "Jane Austen", false, null, "R-0-0", null);
+        Book persuasion = new Book("Persuasion", "Jane Austen", false, null, "R-0-0", null);
+        List<Book> books = new ArrayList<>(List.of(emma, persuasion));
+
+        assertTrue(BookShelver.registerBooks(books, MemberManager.getInstance()));
+
+        assertEquals(2, books.size());
+        assertEquals("R-0-0", emma.getBookID());
+        assertEquals("R-0-1", persuasion.getBookID());
+        ShelvesManager shelvesManager = ShelvesManager.getShelvesManagerInstance();
+        shelvesManager.deleteBook(persuasion.getId());
+        shelvesManager.deleteBook(emma.getId());
+        assertEquals("R-0-0", shelvesManager.getBookId("romance"));
+        assertFalse(BookShelver.registerBooks(books, MemberManager.getInstance()));
+        shelvesManager.cleanup();
+    }
+
+    @Test
+    void registerBooks_genreFull_bookDroppedAndBorrowerLinked() {
+        ShelvesManager.configure(1, 1, 1);
+        Book emma = new Book("Emma", "Jane Austen", true, null, "R-0-0", "Alice");
+        Book persuasion = new Book("Persuasion", "Jane Austen", false, null, "R-0-0", null);
+        List<Book> books = new ArrayList<>(List.of(emma, persuasion));
+        MemberManager memberManager = MemberManager.getInstance();
+
+        assertTrue(BookShelver.registerBooks(books, memberManager));
+
+        assertEquals(List.of(emma), books);
+        assertSame(memberManager.getMemberByName("Alice"), emma.getBorrower());
+        ShelvesManager.configure(Shelves.MAX_SHELVES_PER_GENRE, Shelf.MAX_BOOKS_ON_SHELF,
+                Shelves.MAX_SHELVES_PER_GENRE);
+        ShelvesManager.getShelvesManagerInstance().cleanup();
+        memberManager.cleanup();
+    }
+}
@@ -0,0 +1,222 @@
+package seedu.duke.storage;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import seedu.duke.book.Book;
+import seedu.duke.member.Member;
+import seedu.duke.member.MemberManager;
+import seedu.duke.shelving.ShelvesManager;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Runs against an in-memory H2 database, which H2 keeps until the last connection to it is closed,
+ * so each test opens a database of its own.
+ */
+class DatabaseStorageTest {
+    private static int databaseCount = 0;
+
+    private MemberManager memberManager;
+    private String url;
+
+    @BeforeEach
+    void setUp() {
+        ShelvesManager.resetShelvesManager();
+        memberManager = MemberManager.getInstance();
+        memberManager.cleanup();
+        url = "jdbc:h2:mem:lebook_test_" + databaseCount++;
+    }
+
+    @AfterEach
+    void tearDown() {
+        ShelvesManager.getShelvesManagerInstance().cleanup();
+        memberManager.cleanup();
+    }
+
+    @Test
+    void writeToFile_thenLoad_sameBooksInOrder() throws SQLException {
+        DatabaseStorage storage = DatabaseStorage.open(url);
+        List<Book> books = new ArrayList<>();
+        books.add(new Book("The Hobbit", "J.R.R. Tolkien", true, LocalDate.of(2025, 4, 1), "AD-0-0", "Alice"));
+        books.add(new Book("Dune", "Frank Herbert", false, null, "SCIF-3-42", null));
+        books.add(new Book("Emma", "Jane Austen", false, null, "R-0-0", null));
+        storage.writeToFile(books);
+
+        List<Book> loaded = reload(storage);
+
+        assertEquals(books.size(), loaded.size());
+        for (int i = 0; i < books.size(); i++) {
+            assertEquals(books.get(i).toFileFormat(), loaded.get(i).toFileFormat());
+        }
+        assertSame(memberManager.getMemberByName("Alice"), loaded.get(0).getBorrower());
+        assertEquals("AD-0-1", ShelvesManager.getShelvesManagerInstance().getBookId("adventure"));
+    }
+
+    @Test
+    void recordAdditionAndDeletion_thenLoad_onlyRemainingBooks() throws SQLException {
+        DatabaseStorage storage = DatabaseStorage.open(url);
+        storage.loadFileContents(memberManager);
+        Book hobbit = new Book("The Hobbit", "J.R.R. Tolkien", false, null, "AD-0-0", null);
+        Book dune = new Book("Dune", "Frank Herbert", false, null, "SCIF-0-0", null);
+        Book emma = new Book("Emma", "Jane Austen", false, null, "R-0-0", null);
+        List<Book> books = new ArrayList<>();
+        for (Book book : List.of(hobbit, dune, emma)) {
+            books.add(book);
+            storage.recordAddition(book, books);
+        }
+        books.remove(dune);
+        storage.recordDeletion(dune, books);
+
+        List<Book> loaded = reload(storage);
+
+        assertEquals(2, loaded.size());
+        assertEquals("The Hobbit", loaded.get(0).getTitle());
+        assertEquals("Emma", loaded.get(1).getTitle());
+    }
+
+    @Test
+    void recordAddition_bookPutBackAtEndOrInMiddle_reloadedInCatalogueOrder() throws SQLException {
+        DatabaseStorage storage = DatabaseStorage.open(url);
+        storage.loadFileContents(memberManager);
+        Book hobbit = new Book("The Hobbit", "J.R.R. Tolkien", false, null, "AD-0-0", null);
+        Book dune = new Book("Dune", "Frank Herbert", false, null, "SCIF-0-0", null);
+        Book emma = new Book("Emma", "Jane Austen", false, null, "R-0-0", null);
+        List<Book> books = new ArrayList<>(List.of(hobbit, dune, emma));
+        storage.writeToFile(books);
+
+        // Undoing a deletion puts the book back at the end, as BookManager.restoreBook does
+        books.remove(dune);
+        storage.recordDeletion(dune, books);
+        books.add(dune);
+        storage.recordAddition(dune, books);
+        assertEquals(List.of("The Hobbit", "Emma", "Dune"), titlesOf(reload(storage)));
+
+        books = new ArrayList<>(List.of(hobbit, emma, dune));
+        books.remove(emma);
+        storage.recordDeletion(emma, books);
+        books.add(0, emma);
+        storage.recordAddition(emma, books);
+        assertEquals(List.of("Emma", "The Hobbit", "Dune"), titlesOf(reload(storage)));
+    }
+
+    @Test
+    void recordStatusChange_borrowThenReturn_statusAndMembersSaved() throws SQLException {
+        DatabaseStorage storage = DatabaseStorage.open(url);
+        storage.loadFileContents(memberManager);
+        Book hobbit = new Book("The Hobbit", "J.R.R. Tolkien", false, null, "AD-0-0", null);
+        List<Book> books = new ArrayList<>(List.of(hobbit));
+        storage.recordAddition(hobbit, books);
+
+        Member alice = memberManager.getMemberByName("Alice");
+        hobbit.setStatus(true);
+        hobbit.setReturnDueDate(LocalDate.of(2025, 4, 1));
+        hobbit.setBorrowerName("Alice");
+        memberManager.recordBorrowing(alice, hobbit);
+        storage.recordStatusChange(hobbit, books);
+        assertFalse(memberManager.hasUnsavedChanges());
+
+        Book borrowed = reload(storage).get(0);
+        assertTrue(borrowed.isBorrowed());
+        assertEquals(LocalDate.of(2025, 4, 1), borrowed.getReturnDueDate());
+        assertEquals("Alice", borrowed.getBorrowerName());
+
+        borrowed.setStatus(false);
+        borrowed.setReturnDueDate(null);
+        borrowed.setBorrowerName(null);
+        storage.recordStatusChange(borrowed, List.of(borrowed));
+
+        Book returned = reload(storage).get(0);
+        assertFalse(returned.isBorrowed());
+        assertNull(returned.getReturnDueDate());
+        assertNull(returned.getBorrower());
+    }
+
+    @Test
+    void flush_membersChanged_membersReloadedWithIdsAndHistory() throws SQLException {
+        DatabaseStorage storage = DatabaseStorage.open(url);
+        storage.loadFileContents(memberManager);
+        Member alice = memberManager.getMemberByName("Alice");
+        memberManager.recordBorrowing(alice, new Book("Dune", "Frank Herbert", false, null, "SCIF-0-0", null));
+        memberManager.recordBorrowing(alice, new Book("Emma", "Jane Austen", false, null, "R-0-0", null));
+        Member bob = memberManager.getMemberByName("Bob");
+        storage.flush();
+        assertFalse(memberManager.hasUnsavedChanges());
+
+        reload(storage);
+        List<Member> members = memberManager.getAllMembers();
+
+        assertEquals(2, members.size());
+        assertEquals(alice.getId(), members.get(0).getId());
+        assertEquals(List.of("SCIF-0-0", "R-0-0"), members.get(0).getBorrowingHistory());
+        assertEquals(bob.getId(), members.get(1).getId());
+        assertEquals("Bob", members.get(1).getName());
+    }
+
+    @Test
+    void recordStatusChange_oneMemberChanged_otherMemberRowsUntouched() throws SQLException {
+        DatabaseStorage storage = DatabaseStorage.open(url);
+        storage.loadFileContents(memberManager);
+        Book hobbit = new Book("The Hobbit", "J.R.R. Tolkien", false, null, "AD-0-0", null);
+        List<Book> books = new ArrayList<>(List.of(hobbit));
+        storage.recordAddition(hobbit, books);
+        Member alice = memberManager.getMemberByName("Alice");
+        Member bob = memberManager.getMemberByName("Bob");
+        storage.flush();
+        try (Connection connection = DriverManager.getConnection(url);
+                Statement statement = connection.createStatement()) {
+            statement.executeUpdate("UPDATE members SET history = 'H-0-0' WHERE member_id = " + bob.getId());
+        }
+
+        hobbit.setStatus(true);
+        hobbit.setReturnDueDate(LocalDate.of(2025, 4, 1));
+        hobbit.setBorrowerName("Alice");
+        memberManager.recordBorrowing(alice, hobbit);
+        storage.recordStatusChange(hobbit, books);
+
+        reload(storage);
+        assertEquals(List.of("AD-0-0"), memberManager.getMemberById(alice.getId()).getBorrowingHistory());
+        assertEquals(List.of("H-0-0"), memberManager.getMemberById(bob.getId()).getBorrowingHistory());
+    }
+
+    @Test
+    void loadFileContents_slotTaken_rowStoredUnderNewId() throws SQLException {
+        DatabaseStorage storage = DatabaseStorage.open(url);
+        storage.writeToFile(List.of(new Book("Emma", "Jane Austen", false, null, "R-0-0", null)));
+        ShelvesManager.getShelvesManagerInstance().addBook("Persuasion", "Jane Austen", "romance");
+
+        List<Book> loaded = storage.loadFileContents(memberManager);
+        assertEquals("R-0-1", loaded.get(0).getBookID());
+
+        assertEquals("R-0-1", reload(storage).get(0).getBookID());
+    }
+
+    private static List<String> titlesOf(List<Book> books) {
+        List<String> titles = new ArrayList<>();
+        for (Book book : books) {
+            titles.add(book.getTitle());
+        }
+        return titles;
+    }
+
+    /**
+     * Loads the database again onto empty shelves and into an empty {@code MemberManager}, as a restart would.
+     */
+    private List<Book> reload(DatabaseStorage storage) {
+        ShelvesManager.getShelvesManagerInstance().cleanup();
+        memberManager.cleanup();
+        return storage.loadFileContents(memberManager);
+    }
+}
@@ -0,0 +1,110 @@
+package seedu.duke.storage;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class DelimitedFileReaderTest {
+    private static final Path TEST_FILE = Paths.get("data/test_delimited.txt");
+
+    @BeforeEach
+    void setUp() throws IOException {
+        Files.createDirectories(TEST_FILE.getParent());
+    }
+
+    @AfterEach
+    void tearDown() throws IOException {
+        Files.deleteIfExists(TEST_FILE);
+    }
+
+    @Test
+    void split_smallChunks_linesKeptWholeAndInOrder() throws IOException {
+        Files.writeString(TEST_FILE, "a | 1\r\nbb | 22\nccc | 333\r\nd | 4\n\n");
+
+        List<DelimitedFileReader> chunks = DelimitedFileReader.open(TEST_FILE).split(4);
+        List<String> firstFields = new ArrayList<>();
+        int lineCount = 0;
+        for (DelimitedFileReader chunk : chunks) {
+            while (chunk.hasNextLine()) {
+                String[] fields = chunk.nextFields(2);
+                firstFields.add(fields[0] + "=" + fields[1]);
+            }
+            lineCount += chunk.getLineNumber();
+        }
+
+        assertTrue(chunks.size() > 1);
+        assertEquals(List.of("a=1", "bb=22", "ccc=333", "d=4"), firstFields);
+        assertEquals(4, lineCount);
+    }
+
+    @Test
+    void nextFields_crlfAndLfLineEndings_sameFieldsAndLineNumbers() throws IOException {
+        Files.writeString(TEST_FILE, "Emma | Austen\r\nDune | Herbert\nDracula | Stoker\r\n");
+        DelimitedFileReader reader = DelimitedFileReader.open(TEST_FILE);
+
+        assertArrayEquals(new String[] {"Emma", "Austen"}, reader.nextFields(2));
+        assertArrayEquals(new String[] {"Dune", "Herbert"}, reader.nextFields(2));
+        assertEquals("Dune | Herbert", reader.currentLine());
+        assertArrayEquals(new String[] {"Dracula", "Stoker"}, reader.nextFields(2));
+        assertEquals(3, reader.getLineNumber());
+        assertFalse(reader.hasNextLine());
+    }
+
+    @Test
+    void nextFields_noFieldCount_everyFieldOfEachLine() throws IOException {
+        Files.writeString(TEST_FILE, "MEMBER | 1 | Alice | R-0-0\nADD | Emma | Austen | 0 |\nNIL\n");
+        DelimitedFileReader reader = DelimitedFileReader.open(TEST_FILE);
+
+        assertArrayEquals(new String[] {"MEMBER", "1", "Alice", "R-0-0"}, reader.nextFields());
+        assertArrayEquals(new String[] {"ADD", "Emma", "Austen", "0", ""}, reader.nextFields());
+        assertArrayEquals(new String[] {"NIL"}, reader.nextFields());
+        assertFalse(reader.hasNextLine());
+    }
+
+    @Test
+    void hasNextLine_trailingBlankLines_notReadAsRecords() throws IOException {
+        Files.writeString(TEST_FILE, "Emma | Austen\n\r\n  \n");
+        DelimitedFileReader reader = DelimitedFileReader.open(TEST_FILE);
+
+        assertTrue(reader.hasNextLine());
+        assertArrayEquals(new String[] {"Emma", "Austen"}, reader.nextFields(2));
+        assertFalse(reader.hasNextLine());
+    }
+
+    @Test
+    void nextFields_multiByteUtf8_decodedAndTrimmed() throws IOException {
+        Files.writeString(TEST_FILE, " 三体 | 刘慈欣 \nCafé Ünïcode | Zoë 😀\n", StandardCharsets.UTF_8);
+        DelimitedFileReader reader = DelimitedFileReader.open(TEST_FILE, StandardCharsets.UTF_8);
+
+        assertArrayEquals(new String[] {"三体", "刘慈欣"}, reader.nextFields(2));
+        assertArrayEquals(new String[] {"Café Ünïcode", "Zoë 😀"}, reader.nextFields(2));
+        assertEquals("Café Ünïcode | Zoë 😀", reader.currentLine());
+    }
+
+    @Test
+    void nextFields_fieldContainingDelimiter_splitLikeTheOldRegexSplit() throws IOException {
+        String line = "AC|DC Live | Band | 0 | null | AC-0-0 | null";
+        Files.writeString(TEST_FILE, line + "\nToo | few\n");
+        DelimitedFileReader reader = DelimitedFileReader.open(TEST_FILE);
+
+        String[] expected = Arrays.stream(line.split("\\|")).map(String::trim).limit(6).toArray(String[]::new);
+        assertArrayEquals(expected, reader.nextFields(6));
+        assertNull(reader.nextFields(6));
+        assertNull(DelimitedFileReader.open(TEST_FILE).nextFields(8));
+    }
+}
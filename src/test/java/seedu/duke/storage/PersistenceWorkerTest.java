@@ -0,0 +1,32 @@
+package seedu.duke.storage;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class PersistenceWorkerTest {
+    private static final long STALENESS_MILLIS = 100;
+    private static final long TIMEOUT_MILLIS = 5000;
+
+    @Test
+    void markDirty_burstOfChanges_flushedOnce() throws InterruptedException {
+        AtomicInteger flushCount = new AtomicInteger();
+        PersistenceWorker worker = new PersistenceWorker(flushCount::incrementAndGet, STALENESS_MILLIS);
+        worker.start();
+
+        for (int i = 0; i < 5; i++) {
+            worker.markDirty();
+        }
+
+        long deadline = System.currentTimeMillis() + TIMEOUT_MILLIS;
+        while (flushCount.get() == 0 && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+        Thread.sleep(2 * STALENESS_MILLIS);
+
+        assertEquals(1, flushCount.get());
+        worker.stop();
+    }
+}
@@ -5,15 +5,23 @@ import seedu.duke.book.Book;
 import java.io.IOException;
 import java.nio.file.Files;
 import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDate;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
 
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import seedu.duke.member.Member;
 import seedu.duke.member.MemberManager;
+import seedu.duke.shelving.ShelvesManager;
+import seedu.duke.shelving.shelves.Shelf;
+import seedu.duke.shelving.shelves.Shelves;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
 class StorageTest {
@@ -22,6 +30,7 @@ class StorageTest {
     @BeforeEach
     void setUp() throws IOException {
         Storage.getInstance(TEST_FILE_PATH).cleanup();
+        ShelvesManager.resetShelvesManager();
         Files.createDirectories(Paths.get("data"));
     }
 
@@ -39,9 +48,33 @@ class StorageTest {
         assertEquals("The Hobbit", book.getTitle());
         assertEquals("J.R.R. Tolkien", book.getAuthor());
         assertTrue(book.isBorrowed());
+        assertEquals(1, storage.getLastLoadedBookCount());
+        assertTrue(storage.getLastLoadDurationMillis() >= 0);
         storage.cleanup();
     }
 
+    @Test
+    void loadFileContents_lowerCaseIds_loadedUpperCasedAndDuplicatesCaught() throws IOException {
+        Storage.getInstance(TEST_FILE_PATH).cleanup();
+        Files.write(Paths.get(TEST_FILE_PATH),
+                Collections.singletonList("Emma | Jane Austen | 0 | null | r-0-1 | 0 | null"));
+        List<Book> books = Storage.getInstance(TEST_FILE_PATH).loadFileContents(MemberManager.getInstance());
+
+        assertEquals(1, books.size());
+        assertEquals("R-0-1", books.get(0).getBookID());
+        assertEquals("romance", books.get(0).getGenre());
+
+        Storage.getInstance(TEST_FILE_PATH).cleanup();
+        ShelvesManager.resetShelvesManager();
+        Files.write(Paths.get(TEST_FILE_PATH), Arrays.asList(
+                "Emma | Jane Austen | 0 | null | R-0-1 | 0 | null",
+                "Persuasion | Jane Austen | 0 | null | r-0-1 | 0 | null"));
+        books = Storage.getInstance(TEST_FILE_PATH).loadFileContents(MemberManager.getInstance());
+
+        assertTrue(books.isEmpty());
+        Storage.getInstance(TEST_FILE_PATH).cleanup();
+    }
+
     @Test
     void loadFileContents_emptyFile_returnsEmptyList() {
         Storage.getInstance(TEST_FILE_PATH).cleanup();
@@ -77,4 +110,317 @@ class StorageTest {
         assertTrue(Files.readAllLines(Paths.get(TEST_FILE_PATH)).isEmpty());
         storage.cleanup();
     }
+
+    @Test
+    void recordChange_journalEnabled_snapshotUntouchedAndReplayedOnLoad() throws IOException {
+        Storage storage = Storage.getInstance(TEST_FILE_PATH);
+        storage.enableJournal();
+        Book hobbit = new Book("The Hobbit", "J.R.R. Tolkien", false, null, "AD-0-0", null);
+        Book dune = new Book("Dune", "Frank Herbert", false, null, "SCIF-0-0", null);
+        List<Book> books = new ArrayList<>(List.of(hobbit, dune));
+        storage.writeToFile(books);
+
+        books.remove(dune);
+        storage.recordDeletion(dune, books);
+        hobbit.setStatus(true);
+        hobbit.setReturnDueDate(LocalDate.of(2025, 4, 1));
+        hobbit.setBorrowerName("Alice");
+        storage.recordStatusChange(hobbit, books);
+
+        assertEquals(2, Files.readAllLines(Paths.get(TEST_FILE_PATH)).size());
+        List<String> journal = Files.readAllLines(Paths.get(TEST_FILE_PATH + ".journal"));
+        assertEquals(3, journal.size());
+        assertTrue(journal.get(0).startsWith("SNAPSHOT | "));
+
+        List<Book> loaded = storage.loadFileContents(MemberManager.getInstance());
+        assertEquals(1, loaded.size());
+        assertEquals("The Hobbit", loaded.get(0).getTitle());
+        assertTrue(loaded.get(0).isBorrowed());
+        assertEquals("Alice", loaded.get(0).getBorrowerName());
+
+        storage.writeToFile(loaded);
+        assertFalse(Files.exists(Paths.get(TEST_FILE_PATH + ".journal")));
+        storage.cleanup();
+    }
+
+    @Test
+    void loadFileContents_journalForOtherSnapshot_setAsideNotReplayed() throws IOException {
+        Storage storage = Storage.getInstance(TEST_FILE_PATH);
+        storage.enableJournal();
+        Book hobbit = new Book("The Hobbit", "J.R.R. Tolkien", false, null, "AD-0-0", null);
+        Book dune = new Book("Dune", "Frank Herbert", false, null, "SCIF-0-0", null);
+        List<Book> books = new ArrayList<>(List.of(hobbit, dune));
+        storage.writeToFile(books);
+        books.remove(dune);
+        storage.recordDeletion(dune, books);
+
+        // A crash after the next snapshot was renamed into place but before this journal was removed
+        Files.write(Paths.get(TEST_FILE_PATH), List.of(hobbit.toFileFormat(), dune.toFileFormat(),
+                "Emma | Jane Austen | 0 | null | R-0-0 | null"));
+        List<Book> loaded = storage.loadFileContents(MemberManager.getInstance());
+
+        assertEquals(3, loaded.size());
+        assertEquals("Dune", loaded.get(1).getTitle());
+        assertFalse(Files.exists(Paths.get(TEST_FILE_PATH + ".journal")));
+        assertEquals(2, Files.readAllLines(Paths.get(TEST_FILE_PATH + ".journal.stale")).size());
+        storage.cleanup();
+        assertFalse(Files.exists(Paths.get(TEST_FILE_PATH + ".journal.stale")));
+    }
+
+    @Test
+    void loadFileContents_badJournalRecord_skippedAndLaterRecordsReplayed() throws IOException {
+        Storage storage = Storage.getInstance(TEST_FILE_PATH);
+        storage.enableJournal();
+        Book hobbit = new Book("The Hobbit", "J.R.R. Tolkien", false, null, "AD-0-0", null);
+        Book dune = new Book("Dune", "Frank Herbert", false, null, "SCIF-0-0", null);
+        List<Book> books = new ArrayList<>(List.of(hobbit, dune));
+        storage.writeToFile(books);
+        books.remove(dune);
+        storage.recordDeletion(dune, books);
+        Files.write(Paths.get(TEST_FILE_PATH + ".journal"), List.of("ADD | Emma | Jane Austen",
+                "BORROW | The Hobbit | J.R.R. Tolkien | 1 | 2025-04-01 | AD-0-0 | Alice"),
+                StandardOpenOption.APPEND);
+
+        List<Book> loaded = storage.loadFileContents(MemberManager.getInstance());
+
+        assertEquals(1, loaded.size());
+        assertTrue(loaded.get(0).isBorrowed());
+        assertEquals("Alice", loaded.get(0).getBorrowerName());
+        List<String> rejected = Files.readAllLines(Paths.get(TEST_FILE_PATH + ".rejected"));
+        assertEquals(1, rejected.size());
+        assertTrue(rejected.get(0).startsWith("journal line 3 | "));
+        assertTrue(rejected.get(0).endsWith("ADD | Emma | Jane Austen"));
+        assertFalse(Files.exists(Paths.get(TEST_FILE_PATH + ".journal")));
+        assertEquals(List.of(loaded.get(0).toFileFormat()), Files.readAllLines(Paths.get(TEST_FILE_PATH)));
+        storage.cleanup();
+    }
+
+    @Test
+    void loadFileContents_tolerantLoad_quarantinesBadLinesAndKeepsRest() throws IOException {
+        Files.write(Paths.get(TEST_FILE_PATH), List.of(
+                "The Hobbit | J.R.R. Tolkien | 0 | null | AD-0-0 | null",
+                "Dune | Frank Herbert",
+                "Emma | Jane Austen | 1 | not-a-date | R-0-0 | Alice",
+                "Emma | Jane Austen | 0 | null | AD-0-0 | null",
+                "Dune | Frank Herbert | 0 | null | SCIF-0-0 | null"));
+        Storage storage = Storage.getInstance(TEST_FILE_PATH);
+        storage.enableTolerantLoad();
+        List<Book> books = storage.loadFileContents(MemberManager.getInstance());
+
+        assertEquals(2, books.size());
+        assertEquals("The Hobbit", books.get(0).getTitle());
+        assertEquals("Dune", books.get(1).getTitle());
+        List<String> rejected = Files.readAllLines(Paths.get(TEST_FILE_PATH + ".rejected"));
+        assertEquals(3, rejected.size());
+        assertTrue(rejected.get(0).startsWith("line 2 | "));
+        assertTrue(rejected.get(2).startsWith("line 4 | "));
+        assertEquals(2, Files.readAllLines(Paths.get(TEST_FILE_PATH)).size());
+        storage.cleanup();
+    }
+
+    @Test
+    void loadFileContents_shelfPastMaximum_reshelvedWithoutGrowingShelves() throws IOException {
+        Files.write(Paths.get(TEST_FILE_PATH), List.of(
+                "The Hobbit | J.R.R. Tolkien | 0 | null | AD-0-0 | null",
+                "Emma | Jane Austen | 0 | null | R-9999999-0 | null",
+                "Dune | Frank Herbert | 0 | null | X-0-0 | null"));
+        Storage storage = Storage.getInstance(TEST_FILE_PATH);
+        storage.enableTolerantLoad();
+        List<Book> books = storage.loadFileContents(MemberManager.getInstance());
+
+        assertEquals(2, books.size());
+        assertEquals("The Hobbit", books.get(0).getTitle());
+        assertEquals("R-0-0", books.get(1).getBookID());
+        List<String> rejected = Files.readAllLines(Paths.get(TEST_FILE_PATH + ".rejected"));
+        assertEquals(1, rejected.size());
+        assertTrue(rejected.get(0).startsWith("line 3 | "));
+        assertEquals(Shelves.MAX_SHELVES_PER_GENRE * Shelf.MAX_BOOKS_ON_SHELF,
+                ShelvesManager.getShelvesManagerInstance().getCapacity("romance"));
+        storage.cleanup();
+    }
+
+    @Test
+    void loadFileContents_shelvesShrunk_everyBookKeptAndReshelved() throws IOException {
+        Storage storage = Storage.getInstance(TEST_FILE_PATH);
+        storage.writeToFile(List.of(
+                new Book("Emma", "Jane Austen", true, LocalDate.of(2025, 4, 1), "R-0-0", "Alice"),
+                new Book("Persuasion", "Jane Austen", false, null, "R-0-1", null),
+                new Book("Dune", "Frank Herbert", false, null, "SCIF-0-5", null)));
+        List<String> savedLines = Files.readAllLines(Paths.get(TEST_FILE_PATH));
+        storage.cleanup(); // Start again as after a restart, with only the saved file
+        Files.write(Paths.get(TEST_FILE_PATH), savedLines);
+
+        ShelvesManager.configure(Shelves.MAX_SHELVES_PER_GENRE, 1, Shelves.MAX_SHELVES_PER_GENRE);
+        ShelvesManager.resetShelvesManager();
+        try {
+            storage = Storage.getInstance(TEST_FILE_PATH);
+            MemberManager memberManager = MemberManager.getInstance();
+            memberManager.cleanup();
+            List<Book> books = storage.loadFileContents(memberManager);
+
+            assertEquals(3, books.size());
+            assertEquals("R-0-0", books.get(0).getBookID());
+            assertEquals(memberManager.getMemberByName("Alice"), books.get(0).getBorrower());
+            assertEquals("R-1-0", books.get(1).getBookID());
+            assertEquals("SCIF-0-0", books.get(2).getBookID());
+            assertEquals(List.of(
+                    books.get(0).toFileFormat(), books.get(1).toFileFormat(), books.get(2).toFileFormat()),
+                    Files.readAllLines(Paths.get(TEST_FILE_PATH)));
+        } finally {
+            ShelvesManager.configure(Shelves.MAX_SHELVES_PER_GENRE, Shelf.MAX_BOOKS_ON_SHELF,
+                    Shelves.MAX_SHELVES_PER_GENRE);
+            ShelvesManager.resetShelvesManager();
+            storage.cleanup();
+        }
+    }
+
+    @Test
+    void loadFileContents_parallelLoadOverSeveralChunks_sameOrderAndLineNumbers() throws IOException {
+        String padding = "x".repeat(400); // Makes the file span several load chunks
+        List<String> lines = new ArrayList<>();
+        for (String prefix : List.of("R", "AD", "AC", "H", "MY", "NF")) {
+            for (int slot = 0; slot < 500; slot++) {
+                lines.add("Book " + lines.size() + padding + " | Author | 0 | null | "
+                        + prefix + "-" + slot / 100 + "-" + slot % 100 + " | null");
+            }
+        }
+        lines.add(2900, "Dune | Frank Herbert");
+        Files.write(Paths.get(TEST_FILE_PATH), lines);
+        Storage storage = Storage.getInstance(TEST_FILE_PATH);
+        storage.enableTolerantLoad();
+        storage.enableParallelLoad();
+
+        List<Book> books = storage.loadFileContents(MemberManager.getInstance());
+
+        assertTrue(Files.size(Paths.get(TEST_FILE_PATH + ".bak")) > 1 << 20);
+        assertEquals(3000, books.size());
+        assertEquals("Book 0" + padding, books.get(0).getTitle());
+        assertEquals("Book 2999" + padding, books.get(2999).getTitle());
+        assertTrue(Files.readAllLines(Paths.get(TEST_FILE_PATH + ".rejected")).get(0).startsWith("line 2901 | "));
+        storage.cleanup();
+    }
+
+    @Test
+    void loadFileContents_corruptedFile_restoresPreviousSave() throws IOException {
+        Storage storage = Storage.getInstance(TEST_FILE_PATH);
+        Book hobbit = new Book("The Hobbit", "J.R.R. Tolkien", false, null, "AD-0-0", null);
+        Book dune = new Book("Dune", "Frank Herbert", false, null, "SCIF-0-0", null);
+        storage.writeToFile(new ArrayList<>(List.of(hobbit)));
+        storage.writeToFile(new ArrayList<>(List.of(hobbit, dune)));
+        assertTrue(Files.exists(Paths.get(TEST_FILE_PATH + ".bak")));
+        assertEquals(1, Files.readAllLines(Paths.get(TEST_FILE_PATH + ".bak")).size());
+        assertFalse(Files.exists(Paths.get(TEST_FILE_PATH + ".tmp")));
+
+        Files.write(Paths.get(TEST_FILE_PATH), Collections.singletonList("Dune | Frank Herbert"));
+        List<Book> loaded = storage.loadFileContents(MemberManager.getInstance());
+
+        assertEquals(1, loaded.size());
+        assertEquals("The Hobbit", loaded.get(0).getTitle());
+        assertEquals(1, Files.readAllLines(Paths.get(TEST_FILE_PATH)).size());
+        storage.cleanup();
+        assertFalse(Files.exists(Paths.get(TEST_FILE_PATH + ".bak")));
+    }
+
+    @Test
+    void flush_membersChanged_membersReloadedWithIdsAndHistory() {
+        MemberManager memberManager = MemberManager.getInstance();
+        memberManager.cleanup();
+        Storage storage = Storage.getInstance(TEST_FILE_PATH);
+        storage.loadFileContents(memberManager);
+        Member alice = memberManager.getMemberByName("Alice");
+        memberManager.recordBorrowing(alice, new Book("Dune", "Frank Herbert", false, null, "SCIF-0-0", null));
+        memberManager.getMemberByName("Bob");
+        storage.flush();
+        assertFalse(memberManager.hasUnsavedChanges());
+
+        memberManager.cleanup();
+        storage.loadFileContents(memberManager);
+        List<Member> members = memberManager.getAllMembers();
+
+        assertEquals(2, members.size());
+        assertEquals("Alice", members.get(0).getName());
+        assertEquals(alice.getId(), members.get(0).getId());
+        assertEquals(List.of("SCIF-0-0"), members.get(0).getBorrowingHistory());
+        assertEquals("Bob", members.get(1).getName());
+        assertTrue(memberManager.getMemberByName("Carol").getId() > members.get(1).getId());
+        memberManager.cleanup();
+        storage.cleanup();
+    }
+
+    @Test
+    void flush_journalEnabled_onlyChangedMemberJournaled() throws IOException {
+        MemberManager memberManager = MemberManager.getInstance();
+        memberManager.cleanup();
+        Storage storage = Storage.getInstance(TEST_FILE_PATH);
+        storage.enableJournal();
+        storage.writeToFile(List.of(new Book("The Hobbit", "J.R.R. Tolkien", false, null, "AD-0-0", null)));
+        List<Book> books = storage.loadFileContents(memberManager);
+        Member alice = memberManager.getMemberByName("Alice");
+        memberManager.getMemberByName("Bob");
+        storage.flush();
+        List<String> savedMembers = Files.readAllLines(Paths.get(TEST_FILE_PATH + ".members"));
+
+        Book hobbit = books.get(0);
+        hobbit.setStatus(true);
+        hobbit.setReturnDueDate(LocalDate.of(2025, 4, 1));
+        hobbit.setBorrowerName("Alice");
+        memberManager.recordBorrowing(alice, hobbit);
+        storage.recordStatusChange(hobbit, books);
+
+        assertFalse(memberManager.hasUnsavedChanges());
+        assertEquals(savedMembers, Files.readAllLines(Paths.get(TEST_FILE_PATH + ".members")));
+        List<String> journal = Files.readAllLines(Paths.get(TEST_FILE_PATH + ".journal"));
+        assertEquals(3, journal.size());
+        assertEquals("MEMBER | " + alice.getId() + " | Alice | AD-0-0", journal.get(2));
+
+        memberManager.cleanup();
+        books = storage.loadFileContents(memberManager);
+        assertEquals(List.of("AD-0-0"), memberManager.getMemberByName("Alice").getBorrowingHistory());
+        assertEquals(2, memberManager.getAllMembers().size());
+
+        storage.writeToFile(books);
+        assertFalse(Files.exists(Paths.get(TEST_FILE_PATH + ".journal")));
+        assertEquals(alice.getId() + " | Alice | AD-0-0",
+                Files.readAllLines(Paths.get(TEST_FILE_PATH + ".members")).get(0));
+        memberManager.cleanup();
+        storage.cleanup();
+    }
+
+    @Test
+    void exportAndImportBinarySnapshot_roundTrip_preservesBooks() throws IOException {
+        String binaryPath = "data/test_books.bin";
+        Storage storage = Storage.getInstance(TEST_FILE_PATH);
+        List<Book> books = new ArrayList<>();
+        books.add(new Book("The Hobbit", "J.R.R. Tolkien", true, LocalDate.of(2025, 4, 1), "AD-0-0", "Alice"));
+        books.add(new Book("The Hobbit", "J.R.R. Tolkien", false, null, "AD-0-1", "null"));
+        books.add(new Book("Dune", "Frank Herbert", false, null, "SCIF-3-42", null));
+
+        storage.exportBinarySnapshot(books, binaryPath);
+        List<Book> imported = storage.importBinarySnapshot(binaryPath, MemberManager.getInstance());
+
+        assertEquals(books.size(), imported.size());
+        for (int i = 0; i < books.size(); i++) {
+            assertEquals(books.get(i).toFileFormat(), imported.get(i).toFileFormat());
+        }
+        assertEquals(3, Files.readAllLines(Paths.get(TEST_FILE_PATH)).size());
+        Files.deleteIfExists(Paths.get(binaryPath));
+        storage.cleanup();
+    }
+
+    @Test
+    void importBinarySnapshot_shelvesInUse_importedBooksKeepTheirIds() throws IOException {
+        String binaryPath = "data/test_books.bin";
+        Storage storage = Storage.getInstance(TEST_FILE_PATH);
+        ShelvesManager.getShelvesManagerInstance().addBook("Emma", "Jane Austen", "romance");
+        storage.exportBinarySnapshot(List.of(new Book("Persuasion", "Jane Austen", false, null, "R-0-0", null)),
+                binaryPath);
+
+        List<Book> imported = storage.importBinarySnapshot(binaryPath, MemberManager.getInstance());
+
+        assertEquals(1, imported.size());
+        assertEquals("R-0-0", imported.get(0).getBookID());
+        assertEquals("R-0-1", ShelvesManager.getShelvesManagerInstance().getBookId("romance"));
+        Files.deleteIfExists(Paths.get(binaryPath));
+        storage.cleanup();
+    }
 }